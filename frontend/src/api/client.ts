@@ -4,10 +4,7 @@ function getToken(): string | null {
   return localStorage.getItem('token');
 }
 
-export async function api<T>(
-  path: string,
-  options: RequestInit = {}
-): Promise<T> {
+async function request(path: string, options: RequestInit = {}): Promise<Response> {
   const token = getToken();
   const headers: HeadersInit = {
     'Content-Type': 'application/json',
@@ -28,11 +25,32 @@ export async function api<T>(
     const err = await res.json().catch(() => ({ message: res.statusText }));
     throw new Error(err.message || `Request failed: ${res.status}`);
   }
+  return res;
+}
+
+export async function api<T>(
+  path: string,
+  options: RequestInit = {}
+): Promise<T> {
+  const res = await request(path, options);
   const text = await res.text();
   if (res.status === 204 || !text || text.trim() === '') return undefined as T;
   return JSON.parse(text) as T;
 }
 
+// Keyset-paged lists: follows the X-Next-Cursor header until the last page
+export async function apiAll<T>(path: string): Promise<T[]> {
+  const items: T[] = [];
+  let cursor: string | null = null;
+  do {
+    const separator = path.includes('?') ? '&' : '?';
+    const res = await request(cursor ? `${path}${separator}cursor=${encodeURIComponent(cursor)}` : path);
+    items.push(...((await res.json()) as T[]));
+    cursor = res.headers.get('X-Next-Cursor');
+  } while (cursor);
+  return items;
+}
+
 // Auth
 export const auth = {
   login: (username: string, password: string) =>
@@ -64,7 +82,7 @@ export const releases = {
 
 // Tasks
 export const tasks = {
-  my: () => api<Task[]>('/tasks/my'),
+  my: () => apiAll<Task>('/tasks/my'),
   start: (id: string) => api<void>(`/tasks/${id}/start`, { method: 'PATCH' }),
   complete: (id: string) =>
     api<void>(`/tasks/${id}/complete`, { method: 'PATCH' }),
@@ -78,7 +96,9 @@ export const forum = {
       body: JSON.stringify({ content }),
     }),
   getComments: (taskId: string) =>
-    api<Comment[]>(`/tasks/${taskId}/comments`),
+    apiAll<Comment>(`/tasks/${taskId}/comments`),
+  getReplies: (commentId: string) =>
+    apiAll<Comment>(`/comments/${commentId}/replies`),
   reply: (commentId: string, content: string) =>
     api<void>(`/comments/${commentId}/reply`, {
       method: 'POST',
@@ -113,7 +133,8 @@ export interface Task {
   status: string;
   assignedDeveloperId: string;
   orderIndex: number;
-  comments: Comment[];
+  commentCount: number;
+  comments?: Comment[]; // only with includeComments=true; otherwise use forum.getComments
 }
 
 export interface TaskRequest {
@@ -125,6 +146,10 @@ export interface TaskRequest {
 
 export interface Comment {
   id: string;
+  taskId: string;
+  parentId: string | null;
+  depth: number;
+  replyCount: number; // direct replies; more than replies.length when the rest were not expanded
   authorId: string;
   content: string;
   timestamp: string;
@@ -146,17 +146,33 @@ export default function MyTasks() {
 }
 
 function CommentNode({ comment }: { comment: Comment }) {
+  const [replies, setReplies] = useState<Comment[]>(comment.replies ?? [])
+  const hasMore = comment.replyCount > replies.length
+
+  const loadReplies = async () => {
+    try {
+      setReplies(await forum.getReplies(comment.id))
+    } catch (err) {
+      console.error(err)
+    }
+  }
+
   return (
     <div className="comment">
       <div className="comment-header">
         <span className="comment-author">{comment.authorId}</span>
       </div>
       <p className="comment-content">{comment.content}</p>
-      {comment.replies?.length > 0 && (
+      {(replies.length > 0 || hasMore) && (
         <div className="comment-replies">
-          {comment.replies.map((r) => (
+          {replies.map((r) => (
             <CommentNode key={r.id} comment={r} />
           ))}
+          {hasMore && (
+            <button onClick={loadReplies} className="comment-more">
+              Show {comment.replyCount - replies.length} more {comment.replyCount - replies.length === 1 ? 'reply' : 'replies'}
+            </button>
+          )}
         </div>
       )}
     </div>
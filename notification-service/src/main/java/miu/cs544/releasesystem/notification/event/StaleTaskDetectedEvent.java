@@ -12,4 +12,5 @@ public class StaleTaskDetectedEvent {
     private String developerId;
     private String developerEmail;
     private String duration;
+    private int escalationLevel; // 0 on the first report, then one more per re-notification
 }
@@ -13,4 +13,14 @@ public class SystemErrorEvent {
     private String errorCode;
     private String message;
     private Instant timestamp;
+    // Coalesced events (HTTP 500s): occurrences of the same fingerprint within one window
+    private String exceptionType;
+    private String fingerprint;
+    private long count;
+    private Instant firstSeen;
+    private Instant lastSeen;
+
+    public SystemErrorEvent(String errorCode, String message, Instant timestamp) {
+        this(errorCode, message, timestamp, null, null, 1, timestamp, timestamp);
+    }
 }
@@ -6,15 +6,20 @@ import miu.cs544.releasesystem.notification.repository.NotificationLogRepository
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.header.Header;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
 import java.time.Instant;
 
 @Service
 @Slf4j
 public class KafkaConsumerService {
 
+    // Set by release-service; records are keyed by developer / release id
+    private static final String EVENT_TYPE_HEADER = "eventType";
+
     private final EmailService emailService;
     private final NotificationLogRepository notificationLogRepository;
     private final ObjectMapper objectMapper;
@@ -27,12 +32,13 @@ public class KafkaConsumerService {
         this.objectMapper = objectMapper;
     }
 
-    @KafkaListener(topics = "task-events", groupId = "notification-group")
+    @KafkaListener(topics = "task-events", groupId = "notification-group",
+            concurrency = "${notification.kafka.concurrency:3}")
     public void listenTaskEvents(ConsumerRecord<String, String> record) {
-        String key = record.key(); // "assigned", "completed", "hotfix", "stale"
+        String key = eventType(record); // "assigned", "completed", "hotfix", "stale"
         String value = record.value();
         
-        log.info("Received Event - Key: {}, Value: {}", key, value);
+        log.info("Received Event - Type: {}, Key: {}, Value: {}", key, record.key(), value);
 
         try {
             if ("assigned".equals(key)) {
@@ -48,7 +54,10 @@ public class KafkaConsumerService {
             } else if ("stale".equals(key)) {
                 StaleTaskDetectedEvent event = objectMapper.readValue(value, StaleTaskDetectedEvent.class);
                 String recipient = resolveRecipient(event.getDeveloperEmail(), event.getDeveloperId());
-                sendNotification(recipient, "Stale Task Reminder", "Task " + event.getTaskId() + " has been active for " + event.getDuration(), "StaleTask");
+                String subject = event.getEscalationLevel() > 0
+                        ? "Stale Task Reminder (reminder " + (event.getEscalationLevel() + 1) + ")"
+                        : "Stale Task Reminder";
+                sendNotification(recipient, subject, "Task " + event.getTaskId() + " has been active for " + event.getDuration(), "StaleTask");
             }
             // "completed" might not need notification
         } catch (Exception e) {
@@ -57,11 +66,23 @@ public class KafkaConsumerService {
         }
     }
 
+    /**
+     * The eventType header, or the record key for records published before the type moved to a header.
+     */
+    private static String eventType(ConsumerRecord<String, String> record) {
+        Header header = record.headers().lastHeader(EVENT_TYPE_HEADER);
+        return header != null ? new String(header.value(), StandardCharsets.UTF_8) : record.key();
+    }
+
     @KafkaListener(topics = "system-events", groupId = "notification-group")
     public void listenSystemEvents(ConsumerRecord<String, String> record) {
         try {
             SystemErrorEvent event = objectMapper.readValue(record.value(), SystemErrorEvent.class);
-            sendNotification("admin@company.com", "System Error Alert", "Error: " + event.getMessage(), "SystemError");
+            String body = "Error: " + event.getMessage();
+            if (event.getCount() > 1) {
+                body += "\nOccurred " + event.getCount() + " times between " + event.getFirstSeen() + " and " + event.getLastSeen();
+            }
+            sendNotification("admin@company.com", "System Error Alert", body, "SystemError");
         } catch (Exception e) {
             log.error("Error processing system event", e);
             throw new RuntimeException("Failed to process system event", e);
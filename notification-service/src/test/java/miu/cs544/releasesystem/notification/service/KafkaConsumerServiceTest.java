@@ -3,6 +3,7 @@ package miu.cs544.releasesystem.notification.service;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import miu.cs544.releasesystem.notification.domain.NotificationLog;
+import miu.cs544.releasesystem.notification.event.HotfixTaskAddedEvent;
 import miu.cs544.releasesystem.notification.event.TaskAssignedEvent;
 import miu.cs544.releasesystem.notification.event.SystemErrorEvent;
 import miu.cs544.releasesystem.notification.repository.NotificationLogRepository;
@@ -12,11 +13,13 @@ import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
 
+import java.nio.charset.StandardCharsets;
 import java.time.Instant;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 class KafkaConsumerServiceTest {
@@ -55,6 +58,31 @@ class KafkaConsumerServiceTest {
         assertThat(logEntry.getTimestamp()).isNotNull();
     }
 
+    @Test
+    void listenTaskEvents_routesOnTheEventTypeHeader_whenKeyedByEntity() throws Exception {
+        TaskAssignedEvent event = new TaskAssignedEvent("task3", "dev3", "dev3@example.com", "rel1");
+        ConsumerRecord<String, String> record = new ConsumerRecord<>("task-events", 0, 0L, "dev3", objectMapper.writeValueAsString(event));
+        record.headers().add("eventType", "assigned".getBytes(StandardCharsets.UTF_8));
+
+        kafkaConsumerService.listenTaskEvents(record);
+
+        verify(emailService).sendEmail("dev3@example.com", "New Task Assigned", "You have been assigned task task3");
+        verify(notificationLogRepository).save(any(NotificationLog.class));
+    }
+
+    @Test
+    void listenTaskEvents_prefersTheEventTypeHeaderOverTheKey() throws Exception {
+        HotfixTaskAddedEvent event = new HotfixTaskAddedEvent("task4", "dev4", "dev4@example.com", "rel1", "Fix login");
+        ConsumerRecord<String, String> record = new ConsumerRecord<>("task-events", 0, 0L, "assigned", objectMapper.writeValueAsString(event));
+        record.headers().add("eventType", "hotfix".getBytes(StandardCharsets.UTF_8));
+
+        kafkaConsumerService.listenTaskEvents(record);
+
+        verify(emailService).sendEmail("dev4@example.com", "URGENT: Hotfix Task Added",
+                "A hotfix task 'Fix login' has been added to your release!");
+        verify(emailService, never()).sendEmail(any(), eq("New Task Assigned"), any());
+    }
+
     @Test
     void listenTaskEvents_logsFailure_whenEmailSendThrows() throws Exception {
         TaskAssignedEvent event = new TaskAssignedEvent("task2", "dev2", "dev2@example.com", "rel1");
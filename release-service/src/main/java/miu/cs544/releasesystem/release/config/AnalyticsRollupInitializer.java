@@ -0,0 +1,31 @@
+package miu.cs544.releasesystem.release.config;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import miu.cs544.releasesystem.release.service.AnalyticsService;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Seeds analytics_rollups from the releases on the first start; afterwards they are maintained
+ * incrementally (and can be recomputed with POST /analytics/rebuild).
+ */
+@Component
+@Order(3)
+@RequiredArgsConstructor
+@Slf4j
+public class AnalyticsRollupInitializer implements ApplicationRunner {
+
+    private final AnalyticsService analyticsService;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        try {
+            if (!analyticsService.hasRollups()) analyticsService.rebuild();
+        } catch (Exception e) {
+            log.error("Failed to seed analytics rollups, will retry on next start: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package miu.cs544.releasesystem.release.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import miu.cs544.releasesystem.release.exception.BulkheadFullException;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Caps the number of concurrent calls into one dependency. With virtual threads the request thread
+ * count is no longer a limit, so without this every request could hit Ollama or Kafka at once.
+ * Callers wait up to maxWait for a permit, then get a {@link BulkheadFullException}.
+ */
+public class Bulkhead {
+
+    private final String name;
+    private final Semaphore permits;
+    private final Duration maxWait;
+    private final Counter rejected;
+
+    public Bulkhead(String name, int maxConcurrent, Duration maxWait, MeterRegistry meterRegistry) {
+        this.name = name;
+        this.permits = new Semaphore(maxConcurrent, true);
+        this.maxWait = maxWait;
+        Gauge.builder("bulkhead_available_permits", permits, Semaphore::availablePermits)
+                .tag("dependency", name)
+                .register(meterRegistry);
+        Gauge.builder("bulkhead_max_concurrent", () -> maxConcurrent)
+                .tag("dependency", name)
+                .register(meterRegistry);
+        this.rejected = Counter.builder("bulkhead_rejected_total")
+                .tag("dependency", name)
+                .register(meterRegistry);
+    }
+
+    public <T> T call(Supplier<T> action) {
+        acquire();
+        try {
+            return action.get();
+        } finally {
+            permits.release();
+        }
+    }
+
+    /**
+     * Holds the permit until the returned future completes, for calls that only start the work.
+     */
+    public <T> CompletableFuture<T> callAsync(Supplier<CompletableFuture<T>> action) {
+        acquire();
+        CompletableFuture<T> future;
+        try {
+            future = action.get();
+        } catch (RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+        future.whenComplete((result, error) -> permits.release());
+        return future;
+    }
+
+    public void run(Runnable action) {
+        call(() -> {
+            action.run();
+            return null;
+        });
+    }
+
+    private void acquire() {
+        try {
+            if (permits.tryAcquire(maxWait.toMillis(), TimeUnit.MILLISECONDS)) return;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        rejected.increment();
+        throw new BulkheadFullException(name + " is busy, please retry later");
+    }
+}
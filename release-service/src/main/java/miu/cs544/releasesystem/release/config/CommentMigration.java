@@ -0,0 +1,107 @@
+package miu.cs544.releasesystem.release.config;
+
+import com.mongodb.client.model.ReplaceOptions;
+import com.mongodb.client.model.UpdateOptions;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import miu.cs544.releasesystem.release.domain.Comment;
+import org.bson.Document;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * One-off, idempotent migration of the comment trees that used to be embedded in
+ * releases.tasks[].comments into the comments collection. Each comment is upserted by id, so a
+ * migration interrupted half-way is simply completed on the next start.
+ */
+@Component
+@Order(1)
+@RequiredArgsConstructor
+@Slf4j
+public class CommentMigration implements ApplicationRunner {
+
+    private static final String RELEASES = "releases";
+    private static final String COMMENTS = "comments";
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        try {
+            migrate();
+        } catch (Exception e) {
+            log.error("Comment migration failed, will retry on next start: {}", e.getMessage());
+        }
+    }
+
+    private void migrate() {
+        var releases = mongoTemplate.getCollection(RELEASES);
+        var comments = mongoTemplate.getCollection(COMMENTS);
+        int migratedReleases = 0;
+        int migratedComments = 0;
+
+        for (Document release : releases.find(new Document("tasks.comments.0", new Document("$exists", true)))) {
+            Object releaseId = release.get("_id");
+            List<Document> tasks = release.getList("tasks", Document.class, List.of());
+            for (Document task : tasks) {
+                List<Document> flat = new ArrayList<>();
+                for (Document root : task.getList("comments", Document.class, List.of())) {
+                    flatten(root, String.valueOf(releaseId), task.getString("_id"), null, new ArrayList<>(), "", flat);
+                }
+                for (Document comment : flat) {
+                    comments.replaceOne(new Document("_id", comment.get("_id")), comment, new ReplaceOptions().upsert(true));
+                }
+                // Counter is recomputed from the collection so a re-run does not double count
+                long count = comments.countDocuments(new Document("taskId", task.getString("_id")));
+                releases.updateOne(new Document("_id", releaseId),
+                        new Document("$set", new Document("tasks.$[t].commentCount", (int) count))
+                                .append("$unset", new Document("tasks.$[t].comments", "")),
+                        new UpdateOptions()
+                                .arrayFilters(List.of(new Document("t._id", task.getString("_id")))));
+                migratedComments += flat.size();
+            }
+            // Bump updatedAt so the task_view projector (polling mode) picks up the new counters
+            releases.updateOne(new Document("_id", releaseId),
+                    new Document("$set", new Document("updatedAt", Date.from(Instant.now()))));
+            migratedReleases++;
+        }
+
+        if (migratedReleases > 0) {
+            log.info("Migrated {} embedded comments of {} releases into the comments collection", migratedComments, migratedReleases);
+        }
+    }
+
+    private void flatten(Document embedded, String releaseId, String taskId, String parentId,
+                         List<String> ancestors, String parentPath, List<Document> out) {
+        String id = embedded.getString("_id");
+        List<Document> replies = embedded.getList("replies", Document.class, List.of());
+        String path = parentPath.isEmpty() ? id : parentPath + "/" + id;
+
+        out.add(new Document("_id", id)
+                .append("releaseId", releaseId)
+                .append("taskId", taskId)
+                .append("parentId", parentId)
+                .append("ancestors", new ArrayList<>(ancestors))
+                .append("path", path)
+                .append("depth", ancestors.size())
+                .append("replyCount", replies.size())
+                .append("authorId", embedded.getString("authorId"))
+                .append("content", embedded.getString("content"))
+                .append("timestamp", embedded.get("timestamp"))
+                .append("_class", Comment.class.getName()));
+
+        List<String> childAncestors = new ArrayList<>(ancestors);
+        childAncestors.add(id);
+        for (Document reply : replies) {
+            flatten(reply, releaseId, taskId, id, childAncestors, path, out);
+        }
+    }
+}
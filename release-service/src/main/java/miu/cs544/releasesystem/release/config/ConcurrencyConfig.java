@@ -0,0 +1,45 @@
+package miu.cs544.releasesystem.release.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-dependency concurrency limits. Request handling itself may run on virtual threads
+ * (spring.threads.virtual.enabled); these bound what those threads can do to each dependency.
+ */
+@Configuration
+public class ConcurrencyConfig {
+
+    @Bean
+    public Bulkheads bulkheads(MeterRegistry meterRegistry,
+                               @Value("${release.bulkhead.ollama.max-concurrent:4}") int ollamaMaxConcurrent,
+                               @Value("${release.bulkhead.ollama.max-wait-ms:2000}") long ollamaMaxWaitMs,
+                               @Value("${release.bulkhead.kafka.max-concurrent:32}") int kafkaMaxConcurrent,
+                               @Value("${release.bulkhead.kafka.max-wait-ms:1000}") long kafkaMaxWaitMs) {
+        return new Bulkheads(
+                new Bulkhead("ollama", ollamaMaxConcurrent, Duration.ofMillis(ollamaMaxWaitMs), meterRegistry),
+                new Bulkhead("kafka", kafkaMaxConcurrent, Duration.ofMillis(kafkaMaxWaitMs), meterRegistry));
+    }
+
+    /**
+     * MongoDB's bulkhead is the driver connection pool: at most max-pool-size operations in flight,
+     * the rest wait up to max-wait-ms for a connection and then fail.
+     */
+    @Bean
+    public MongoClientSettingsBuilderCustomizer mongoPoolBulkhead(
+            @Value("${release.bulkhead.mongo.max-pool-size:50}") int maxPoolSize,
+            @Value("${release.bulkhead.mongo.max-wait-ms:2000}") long maxWaitMs) {
+        return settings -> settings.applyToConnectionPoolSettings(pool -> pool
+                .maxSize(maxPoolSize)
+                .maxWaitTime(maxWaitMs, TimeUnit.MILLISECONDS));
+    }
+
+    public record Bulkheads(Bulkhead ollama, Bulkhead kafka) {
+    }
+}
@@ -0,0 +1,60 @@
+package miu.cs544.releasesystem.release.config;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import miu.cs544.releasesystem.release.domain.DeveloperSlot;
+import miu.cs544.releasesystem.release.domain.TaskStatus;
+import org.bson.Document;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+
+/**
+ * Creates the developer_slots entries for tasks that were already IN_PROCESS before slots
+ * existed. Existing slots are left untouched, so running it on every start is harmless.
+ */
+@Component
+@Order(2)
+@RequiredArgsConstructor
+@Slf4j
+public class DeveloperSlotMigration implements ApplicationRunner {
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        try {
+            Aggregation aggregation = Aggregation.newAggregation(
+                    Aggregation.match(Criteria.where("tasks.status").is(TaskStatus.IN_PROCESS.name())),
+                    Aggregation.unwind("tasks"),
+                    Aggregation.match(Criteria.where("tasks.status").is(TaskStatus.IN_PROCESS.name())),
+                    Aggregation.project()
+                            .and("tasks._id").as("taskId")
+                            .and("tasks.assignedDeveloperId").as("developerId"));
+            int created = 0;
+            for (Document task : mongoTemplate.aggregate(aggregation, "releases", Document.class)) {
+                String developerId = task.getString("developerId");
+                if (developerId == null) continue;
+                Update update = new Update()
+                        .setOnInsert("releaseId", String.valueOf(task.get("_id")))
+                        .setOnInsert("taskId", task.getString("taskId"))
+                        .setOnInsert("claimedAt", Instant.now());
+                if (mongoTemplate.upsert(Query.query(Criteria.where("_id").is(developerId)), update, DeveloperSlot.class)
+                        .getUpsertedId() != null) {
+                    created++;
+                }
+            }
+            if (created > 0) log.info("Created {} developer slots for IN_PROCESS tasks", created);
+        } catch (Exception e) {
+            log.error("Developer slot backfill failed: {}", e.getMessage());
+        }
+    }
+}
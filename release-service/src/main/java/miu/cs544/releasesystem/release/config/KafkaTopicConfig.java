@@ -0,0 +1,39 @@
+package miu.cs544.releasesystem.release.config;
+
+import org.apache.kafka.clients.admin.NewTopic;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.TopicBuilder;
+
+/**
+ * Topics published by release-service, created (or grown to the configured partition count) by
+ * KafkaAdmin at startup. Consumers scale up to the partition count of the topic they read. Adding
+ * partitions to an existing topic moves some keys to another partition, so events of one entity
+ * published across the change may be read out of order.
+ */
+@Configuration
+public class KafkaTopicConfig {
+
+    public static final String TASK_EVENTS = "task-events";
+    public static final String SYSTEM_EVENTS = "system-events";
+    public static final String RELEASE_CACHE_EVENTS = "release-cache-events";
+
+    @Value("${release.kafka.topics.replicas:1}")
+    private int replicas;
+
+    @Bean
+    public NewTopic taskEventsTopic(@Value("${release.kafka.topics.task-events.partitions:12}") int partitions) {
+        return TopicBuilder.name(TASK_EVENTS).partitions(partitions).replicas(replicas).build();
+    }
+
+    @Bean
+    public NewTopic systemEventsTopic(@Value("${release.kafka.topics.system-events.partitions:3}") int partitions) {
+        return TopicBuilder.name(SYSTEM_EVENTS).partitions(partitions).replicas(replicas).build();
+    }
+
+    @Bean
+    public NewTopic releaseCacheEventsTopic(@Value("${release.kafka.topics.release-cache-events.partitions:3}") int partitions) {
+        return TopicBuilder.name(RELEASE_CACHE_EVENTS).partitions(partitions).replicas(replicas).build();
+    }
+}
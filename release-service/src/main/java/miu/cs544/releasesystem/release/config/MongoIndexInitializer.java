@@ -0,0 +1,238 @@
+package miu.cs544.releasesystem.release.config;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Declares the indexes backing the repository queries of release_db and verifies at boot,
+ * via explain, that none of those queries falls back to a collection scan.
+ * The verification result is exposed through {@link QueryPlanHealthIndicator}.
+ */
+@Component
+@Order(0)
+@RequiredArgsConstructor
+@Slf4j
+public class MongoIndexInitializer implements ApplicationRunner {
+
+    private static final String RELEASES = "releases";
+    private static final String USERS = "users";
+    private static final String TASK_VIEW = "task_view";
+    private static final String COMMENTS = "comments";
+    private static final String RELEASE_ARCHIVE = "release_archive";
+    private static final String ANALYTICS_ROLLUPS = "analytics_rollups";
+    private static final String STALE_ALERTS = "stale_alerts";
+
+    private final MongoTemplate mongoTemplate;
+
+    @Value("${release.mongo.indexes.verify-query-plans:true}")
+    private boolean verifyQueryPlans;
+
+    private volatile Map<String, String> queryPlans = Collections.emptyMap();
+    private volatile boolean verified = false;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        ensureIndexes();
+        if (verifyQueryPlans) {
+            verifyQueryPlans();
+        }
+    }
+
+    private void ensureIndexes() {
+        // ReleaseRepository.findByTaskId
+        ensure(RELEASES, new Index().on("tasks._id", Sort.Direction.ASC).named("tasks_id"));
+        // Archiving of releases completed before a cutoff
+        ensure(RELEASES, new Index()
+                .on("status", Sort.Direction.ASC)
+                .on("completedAt", Sort.Direction.ASC)
+                .named("status_completedAt"));
+        // Delta sync of a developer's tasks (GET /tasks/my/changes)
+        ensure(RELEASES, new Index()
+                .on("tasks.assignedDeveloperId", Sort.Direction.ASC)
+                .on("tasks.updatedAt", Sort.Direction.ASC)
+                .named("tasks_developer_updatedAt"));
+        // Stale task detection (IN_PROCESS tasks started before a threshold)
+        ensure(RELEASES, new Index()
+                .on("tasks.status", Sort.Direction.ASC)
+                .on("tasks.startedAt", Sort.Direction.ASC)
+                .named("tasks_status_startedAt"));
+        // Release summaries keyset pages (either direction), the TaskViewProjector polling fallback
+        // and the GET /releases ETag stamp
+        ensure(RELEASES, new Index()
+                .on("updatedAt", Sort.Direction.ASC)
+                .on("_id", Sort.Direction.ASC)
+                .on("version", Sort.Direction.ASC)
+                .named("updatedAt_id_version"));
+        ensure(RELEASES, new Index()
+                .on("createdAt", Sort.Direction.ASC)
+                .on("_id", Sort.Direction.ASC)
+                .named("createdAt_id"));
+
+        // task_view read model: per-developer keyset pages, active developers, projection
+        ensure(TASK_VIEW, new Index()
+                .on("assignedDeveloperId", Sort.Direction.ASC)
+                .on("createdAt", Sort.Direction.ASC)
+                .on("_id", Sort.Direction.ASC)
+                .named("developer_createdAt_id"));
+        ensure(TASK_VIEW, new Index()
+                .on("status", Sort.Direction.ASC)
+                .on("startedAt", Sort.Direction.ASC)
+                .named("status_startedAt"));
+        ensure(TASK_VIEW, new Index().on("releaseId", Sort.Direction.ASC).named("releaseId"));
+        // GET /tasks/my ETag stamp
+        ensure(TASK_VIEW, new Index()
+                .on("assignedDeveloperId", Sort.Direction.ASC)
+                .on("projectedAt", Sort.Direction.ASC)
+                .on("releaseVersion", Sort.Direction.ASC)
+                .named("developer_projectedAt_releaseVersion"));
+
+        // comments: keyset pages of top-level comments / direct replies, subtree expansion
+        ensure(COMMENTS, new Index()
+                .on("taskId", Sort.Direction.ASC)
+                .on("parentId", Sort.Direction.ASC)
+                .on("timestamp", Sort.Direction.ASC)
+                .on("_id", Sort.Direction.ASC)
+                .named("task_parent_timestamp_id"));
+        ensure(COMMENTS, new Index()
+                .on("parentId", Sort.Direction.ASC)
+                .on("timestamp", Sort.Direction.ASC)
+                .on("_id", Sort.Direction.ASC)
+                .named("parent_timestamp_id"));
+        ensure(COMMENTS, new Index()
+                .on("ancestors", Sort.Direction.ASC)
+                .on("depth", Sort.Direction.ASC)
+                .named("ancestors_depth"));
+        // Flagging the comments of a release when it is archived or rehydrated
+        ensure(COMMENTS, new Index().on("releaseId", Sort.Direction.ASC).named("releaseId"));
+
+        // release_archive: comments on a task of an archived release rehydrate it
+        ensure(RELEASE_ARCHIVE, new Index().on("taskIds", Sort.Direction.ASC).named("taskIds"));
+
+        // analytics: timeline key ranges and most recently active releases
+        ensure(ANALYTICS_ROLLUPS, new Index()
+                .on("dimension", Sort.Direction.ASC)
+                .on("key", Sort.Direction.ASC)
+                .named("dimension_key"));
+        ensure(ANALYTICS_ROLLUPS, new Index()
+                .on("dimension", Sort.Direction.ASC)
+                .on("updatedAt", Sort.Direction.ASC)
+                .named("dimension_updatedAt"));
+
+        // stale_alerts: state of tasks that are no longer stale expires on its own
+        ensure(STALE_ALERTS, new Index().on("expireAt", Sort.Direction.ASC).expire(0).named("expireAt_ttl"));
+
+        // UserRepository.findFirstByUsername (every JWT-authenticated request)
+        try {
+            mongoTemplate.indexOps(USERS).ensureIndex(new Index()
+                    .on("username", Sort.Direction.ASC).unique().named("users_username_unique"));
+        } catch (Exception e) {
+            // Legacy data may already contain duplicate usernames; keep the lookup indexed anyway.
+            log.warn("Could not create unique index on users.username ({}). Falling back to a non-unique index.", e.getMessage());
+            ensure(USERS, new Index().on("username", Sort.Direction.ASC).named("users_username"));
+        }
+    }
+
+    private void ensure(String collection, Index index) {
+        try {
+            String name = mongoTemplate.indexOps(collection).ensureIndex(index);
+            log.info("Ensured index {} on {}", name, collection);
+        } catch (Exception e) {
+            log.error("Failed to create index {} on {}: {}", index.getIndexOptions().get("name"), collection, e.getMessage());
+        }
+    }
+
+    private void verifyQueryPlans() {
+        Map<String, String> plans = new LinkedHashMap<>();
+        plans.put("ReleaseRepository.findByTaskId",
+                explain(RELEASES, new Document("tasks._id", "__probe__")));
+        plans.put("ReleaseRepository.isTaskInProcess",
+                explain(RELEASES, new Document("tasks", new Document("$elemMatch",
+                        new Document("_id", "__probe__").append("status", "IN_PROCESS")))));
+        plans.put("ReactiveReleaseRepository.findTaskChangesForDeveloper",
+                explain(RELEASES, new Document("tasks", new Document("$elemMatch",
+                        new Document("assignedDeveloperId", "__probe__")
+                                .append("updatedAt", new Document("$gte", Instant.now()))))));
+        plans.put("ReleaseRepository.findSummaries",
+                explain(RELEASES, new Document("updatedAt", new Document("$lt", Instant.now()))));
+        plans.put("ReactiveTaskViewRepository.findPageForDeveloper",
+                explain(TASK_VIEW, new Document("assignedDeveloperId", "__probe__")));
+        plans.put("ReleaseRepository.findInProcessTasks",
+                explain(RELEASES, new Document("tasks", new Document("$elemMatch",
+                        new Document("status", "IN_PROCESS").append("startedAt", new Document("$lt", Instant.now()))))));
+        plans.put("TaskViewRepository.findDevelopersWithActiveTask",
+                explain(TASK_VIEW, new Document("status", "IN_PROCESS")));
+        plans.put("ReactiveCommentRepository.findChildrenPage(task)",
+                explain(COMMENTS, new Document("taskId", "__probe__").append("parentId", null)));
+        plans.put("ReactiveCommentRepository.findChildrenPage(parent)",
+                explain(COMMENTS, new Document("parentId", "__probe__")));
+        plans.put("ReactiveCommentRepository.findDescendants",
+                explain(COMMENTS, new Document("ancestors", new Document("$in", List.of("__probe__")))
+                        .append("depth", new Document("$lte", 10))));
+        plans.put("UserRepository.findFirstByUsername",
+                explain(USERS, new Document("username", "__probe__")));
+
+        plans.forEach((query, stage) -> {
+            if ("COLLSCAN".equals(stage)) {
+                log.warn("Query plan for {} falls back to COLLSCAN", query);
+            } else {
+                log.info("Query plan for {}: {}", query, stage);
+            }
+        });
+        this.queryPlans = Collections.unmodifiableMap(plans);
+        this.verified = true;
+    }
+
+    private String explain(String collection, Document filter) {
+        try {
+            Document explain = mongoTemplate.getCollection(collection).find(filter).explain();
+            Document queryPlanner = explain.get("queryPlanner", Document.class);
+            Object winningPlan = queryPlanner != null ? queryPlanner.get("winningPlan") : null;
+            List<String> stages = new ArrayList<>();
+            collectStages(winningPlan, stages);
+            if (stages.contains("COLLSCAN")) return "COLLSCAN";
+            if (stages.contains("IXSCAN")) return "IXSCAN";
+            return stages.isEmpty() ? "UNKNOWN" : stages.get(0);
+        } catch (Exception e) {
+            log.warn("Could not explain query on {}: {}", collection, e.getMessage());
+            return "UNKNOWN";
+        }
+    }
+
+    // Plans are nested (inputStage / inputStages / queryPlan depending on server version), so walk them all.
+    private void collectStages(Object node, List<String> stages) {
+        if (node instanceof Document doc) {
+            Object stage = doc.get("stage");
+            if (stage instanceof String s) stages.add(s);
+            doc.values().forEach(v -> collectStages(v, stages));
+        } else if (node instanceof List<?> list) {
+            list.forEach(v -> collectStages(v, stages));
+        }
+    }
+
+    /**
+     * Winning plan stage per verified repository query (COLLSCAN, IXSCAN, ...).
+     */
+    public Map<String, String> getQueryPlans() {
+        return queryPlans;
+    }
+
+    public boolean isVerified() {
+        return verified;
+    }
+}
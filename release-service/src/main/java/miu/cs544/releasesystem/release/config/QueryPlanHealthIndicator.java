@@ -0,0 +1,38 @@
+package miu.cs544.releasesystem.release.config;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Reports the boot-time query plan verification done by {@link MongoIndexInitializer}.
+ * When release.mongo.indexes.fail-readiness-on-collscan is true, a COLLSCAN plan marks the
+ * service OUT_OF_SERVICE (included in the readiness group); otherwise it is only reported.
+ */
+@Component
+@RequiredArgsConstructor
+public class QueryPlanHealthIndicator implements HealthIndicator {
+
+    private final MongoIndexInitializer mongoIndexInitializer;
+
+    @Value("${release.mongo.indexes.fail-readiness-on-collscan:false}")
+    private boolean failReadinessOnCollscan;
+
+    @Override
+    public Health health() {
+        if (!mongoIndexInitializer.isVerified()) {
+            return Health.unknown().withDetail("reason", "Query plans not verified yet").build();
+        }
+        Map<String, String> plans = mongoIndexInitializer.getQueryPlans();
+        boolean collscan = plans.containsValue("COLLSCAN");
+        Health.Builder builder = collscan && failReadinessOnCollscan ? Health.outOfService() : Health.up();
+        if (collscan) {
+            builder.withDetail("warning", "At least one repository query falls back to COLLSCAN");
+        }
+        return builder.withDetails(plans).build();
+    }
+}
@@ -0,0 +1,36 @@
+package miu.cs544.releasesystem.release.config;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+/**
+ * Releases written before Release.version existed have no version field; Spring Data would treat
+ * them as new on save and attempt an insert. Initialise the field so optimistic locking applies.
+ */
+@Component
+@Order(1)
+@RequiredArgsConstructor
+@Slf4j
+public class ReleaseVersionMigration implements ApplicationRunner {
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        try {
+            long updated = mongoTemplate.updateMulti(Query.query(Criteria.where("version").exists(false)),
+                    new Update().set("version", 0L), "releases").getModifiedCount();
+            if (updated > 0) log.info("Initialised version on {} releases", updated);
+        } catch (Exception e) {
+            log.error("Failed to initialise release versions: {}", e.getMessage());
+        }
+    }
+}
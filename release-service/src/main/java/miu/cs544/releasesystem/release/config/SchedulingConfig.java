@@ -0,0 +1,75 @@
+package miu.cs544.releasesystem.release.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.task.SimpleAsyncTaskSchedulerBuilder;
+import org.springframework.boot.task.ThreadPoolTaskSchedulerBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.SimpleAsyncTaskScheduler;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+/**
+ * Dedicated scheduler threads per group of background jobs (@Scheduled(scheduler = ...)), so a job
+ * blocked on a dependency cannot delay the others: the stale task tick, lease heartbeats, health
+ * probes and the error event flush each have their own thread. A periodic job never runs on two threads at once; a run that
+ * takes longer than its period delays the next one instead of overlapping with it.
+ * <p>
+ * Declaring these makes Boot back off from its default scheduler, so it is declared here the way
+ * Boot would (virtual threads when spring.threads.virtual.enabled is set).
+ */
+@Configuration
+public class SchedulingConfig {
+
+    public static final String HEALTH = "healthScheduler";
+    public static final String STALE_TASKS = "staleTaskScheduler";
+    public static final String LEASES = "leaseScheduler";
+    public static final String ERRORS = "errorScheduler";
+    // Reconciliations and archiving: long, infrequent runs
+    public static final String MAINTENANCE = "maintenanceScheduler";
+
+    @Bean(name = "taskScheduler")
+    @ConditionalOnThreading(Threading.VIRTUAL)
+    public SimpleAsyncTaskScheduler taskSchedulerVirtualThreads(SimpleAsyncTaskSchedulerBuilder builder) {
+        return builder.build();
+    }
+
+    @Bean(name = "taskScheduler")
+    @ConditionalOnThreading(Threading.PLATFORM)
+    public ThreadPoolTaskScheduler taskScheduler(ThreadPoolTaskSchedulerBuilder builder) {
+        return builder.build();
+    }
+
+    @Bean(name = HEALTH)
+    public ThreadPoolTaskScheduler healthScheduler() {
+        return scheduler("health-", 1);
+    }
+
+    @Bean(name = STALE_TASKS)
+    public ThreadPoolTaskScheduler staleTaskScheduler() {
+        return scheduler("stale-tasks-", 1);
+    }
+
+    @Bean(name = LEASES)
+    public ThreadPoolTaskScheduler leaseScheduler() {
+        return scheduler("leases-", 1);
+    }
+
+    @Bean(name = ERRORS)
+    public ThreadPoolTaskScheduler errorScheduler() {
+        return scheduler("errors-", 1);
+    }
+
+    @Bean(name = MAINTENANCE)
+    public ThreadPoolTaskScheduler maintenanceScheduler() {
+        return scheduler("maintenance-", 2);
+    }
+
+    private static ThreadPoolTaskScheduler scheduler(String threadNamePrefix, int poolSize) {
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(poolSize);
+        scheduler.setThreadNamePrefix(threadNamePrefix);
+        scheduler.setRemoveOnCancelPolicy(true);
+        return scheduler;
+    }
+}
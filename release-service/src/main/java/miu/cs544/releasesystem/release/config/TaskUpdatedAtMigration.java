@@ -0,0 +1,48 @@
+package miu.cs544.releasesystem.release.config;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.AggregationUpdate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Tasks written before Task.updatedAt existed are invisible to delta sync past the first page.
+ * Backfill it from the latest lifecycle timestamp of each task, in one pipeline update per run;
+ * release updatedAt/version are left alone since nothing visible changed.
+ */
+@Component
+@Order(1)
+@RequiredArgsConstructor
+@Slf4j
+public class TaskUpdatedAtMigration implements ApplicationRunner {
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        try {
+            // Tasks that already have updatedAt keep it: $$this is merged last
+            Document backfilled = new Document("$mergeObjects", List.of(
+                    new Document("updatedAt", new Document("$ifNull", List.of("$$this.completedAt",
+                            new Document("$ifNull", List.of("$$this.startedAt", "$$this.createdAt"))))),
+                    "$$this"));
+            AggregationUpdate update = AggregationUpdate.from(List.of(context -> new Document("$set",
+                    new Document("tasks", new Document("$map", new Document("input", "$tasks").append("in", backfilled))))));
+            long updated = mongoTemplate.updateMulti(
+                    Query.query(Criteria.where("tasks").elemMatch(Criteria.where("updatedAt").exists(false))),
+                    update, "releases").getModifiedCount();
+            if (updated > 0) log.info("Initialised task updatedAt on {} releases", updated);
+        } catch (Exception e) {
+            log.error("Failed to initialise task updatedAt: {}", e.getMessage());
+        }
+    }
+}
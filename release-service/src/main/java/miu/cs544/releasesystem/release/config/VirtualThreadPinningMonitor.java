@@ -0,0 +1,86 @@
+package miu.cs544.releasesystem.release.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Exports JFR virtual-thread events to Micrometer while running in virtual-thread mode:
+ * pinned carriers (blocking inside synchronized or native frames) and failed submits.
+ */
+@Component
+@ConditionalOnThreading(Threading.VIRTUAL)
+@RequiredArgsConstructor
+@Slf4j
+public class VirtualThreadPinningMonitor implements SmartLifecycle {
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${release.virtual-threads.pinned-threshold-ms:20}")
+    private long pinnedThresholdMs;
+
+    private RecordingStream stream;
+
+    @Override
+    public void start() {
+        Timer pinned = Timer.builder("jvm_virtual_thread_pinned")
+                .description("Virtual threads that blocked while pinned to their carrier thread")
+                .register(meterRegistry);
+        Counter submitFailed = Counter.builder("jvm_virtual_thread_submit_failed_total")
+                .description("Virtual threads that could not be scheduled on a carrier")
+                .register(meterRegistry);
+        try {
+            stream = new RecordingStream();
+            stream.enable("jdk.VirtualThreadPinned").withThreshold(Duration.ofMillis(pinnedThresholdMs)).withStackTrace();
+            stream.enable("jdk.VirtualThreadSubmitFailed");
+            stream.onEvent("jdk.VirtualThreadPinned", event -> {
+                pinned.record(event.getDuration());
+                log.debug("Virtual thread pinned for {} ms at {}", event.getDuration().toMillis(), topFrame(event));
+            });
+            stream.onEvent("jdk.VirtualThreadSubmitFailed", event -> submitFailed.increment());
+            stream.startAsync();
+            log.info("Virtual thread pinning monitor started (threshold {} ms)", pinnedThresholdMs);
+        } catch (Exception e) {
+            // JFR may be unavailable (e.g. disabled in the runtime image); metrics are best effort
+            log.warn("Could not start JFR virtual thread monitoring: {}", e.getMessage());
+            stream = null;
+        }
+    }
+
+    // First frame outside the JDK: the code that blocked while pinned
+    private String topFrame(RecordedEvent event) {
+        if (event.getStackTrace() == null) return "unknown";
+        for (RecordedFrame frame : event.getStackTrace().getFrames()) {
+            String type = frame.getMethod().getType().getName();
+            if (!type.startsWith("java.") && !type.startsWith("jdk.") && !type.startsWith("sun.")) {
+                return type + "." + frame.getMethod().getName() + ":" + frame.getLineNumber();
+            }
+        }
+        return "jdk";
+    }
+
+    @Override
+    public void stop() {
+        if (stream != null) {
+            stream.close();
+            stream = null;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return stream != null;
+    }
+}
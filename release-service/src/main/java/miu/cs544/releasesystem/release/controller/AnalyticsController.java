@@ -0,0 +1,82 @@
+package miu.cs544.releasesystem.release.controller;
+
+import lombok.RequiredArgsConstructor;
+import miu.cs544.releasesystem.release.domain.AnalyticsRollup;
+import miu.cs544.releasesystem.release.service.AnalyticsService;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+
+/**
+ * Delivery analytics for admins, served from pre-aggregated rollups (see AnalyticsService).
+ * Durations are in milliseconds; days are UTC.
+ */
+@RestController
+@RequestMapping("/analytics")
+@RequiredArgsConstructor
+public class AnalyticsController {
+
+    private static final int MAX_PAGE_SIZE = 500;
+    private static final int MAX_TIMELINE_DAYS = 366 * 2;
+
+    private final AnalyticsService analyticsService;
+
+    /**
+     * Cycle time, lead time, throughput and hotfix rate of one release. Admin only.
+     */
+    @GetMapping("/releases/{id}")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<AnalyticsRollup> getReleaseAnalytics(@PathVariable String id) {
+        return ResponseEntity.ok(analyticsService.getReleaseAnalytics(id));
+    }
+
+    /**
+     * Rollups of the most recently active releases. Admin only.
+     */
+    @GetMapping("/releases")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<List<AnalyticsRollup>> getReleasesAnalytics(@RequestParam(defaultValue = "50") int limit) {
+        return ResponseEntity.ok(analyticsService.getRecentReleaseAnalytics(Math.max(1, Math.min(limit, MAX_PAGE_SIZE))));
+    }
+
+    /**
+     * Per-developer rollups. Admin only.
+     */
+    @GetMapping("/developers")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<List<AnalyticsRollup>> getDeveloperAnalytics(@RequestParam(defaultValue = "100") int limit) {
+        return ResponseEntity.ok(analyticsService.getDeveloperAnalytics(Math.max(1, Math.min(limit, MAX_PAGE_SIZE))));
+    }
+
+    /**
+     * Throughput and timings per day, week or month between two dates (default: the last 30 days). Admin only.
+     */
+    @GetMapping("/timeline")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<List<AnalyticsRollup>> getTimeline(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "day") String granularity) {
+        LocalDate end = to != null ? to : LocalDate.now(ZoneOffset.UTC);
+        LocalDate start = from != null ? from : end.minusDays(30);
+        if (start.isAfter(end) || start.plusDays(MAX_TIMELINE_DAYS).isBefore(end)) {
+            throw new RuntimeException("from must be before to and at most " + MAX_TIMELINE_DAYS + " days apart");
+        }
+        return ResponseEntity.ok(analyticsService.getTimeline(start, end, granularity));
+    }
+
+    /**
+     * Recomputes all rollups from the releases collection. Admin only.
+     */
+    @PostMapping("/rebuild")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Void> rebuild() {
+        analyticsService.rebuild();
+        return ResponseEntity.ok().build();
+    }
+}
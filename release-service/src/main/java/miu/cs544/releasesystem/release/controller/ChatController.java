@@ -9,8 +9,7 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
-
-import java.util.List;
+import reactor.core.publisher.Flux;
 
 @RestController
 @RequestMapping("/chat")
@@ -56,8 +55,8 @@ public class ChatController {
      */
     @GetMapping("/{sessionId}/history")
     @PreAuthorize("hasAnyRole('DEVELOPER', 'ADMIN')")
-    public ResponseEntity<List<ChatMessage>> getHistory(@PathVariable String sessionId) {
-        return ResponseEntity.ok(ollamaService.getHistory(sessionId));
+    public Flux<ChatMessage> getHistory(@PathVariable String sessionId) {
+        return ollamaService.getHistory(sessionId);
     }
 
     @Data
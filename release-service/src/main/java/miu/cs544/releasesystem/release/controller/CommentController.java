@@ -1,19 +1,23 @@
 package miu.cs544.releasesystem.release.controller;
 
+import miu.cs544.releasesystem.release.domain.Comment;
 import miu.cs544.releasesystem.release.dto.ReplyRequest;
 import miu.cs544.releasesystem.release.security.SecurityUtil;
-import miu.cs544.releasesystem.release.service.ReleaseService;
+import miu.cs544.releasesystem.release.service.CommentService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
 
 @RestController
 @RequestMapping("/comments")
 @RequiredArgsConstructor
 public class CommentController {
 
-    private final ReleaseService releaseService;
+    private final CommentService commentService;
 
     /**
      * Reply to a comment (supports nested threading - Reddit-style). Developer/Admin only.
@@ -31,7 +35,22 @@ public class CommentController {
                 return ResponseEntity.status(401).build();
             }
         }
-        releaseService.addReplyToComment(id, developerId, request.getContent());
+        commentService.addReply(id, developerId, request.getContent());
         return ResponseEntity.ok().build();
     }
+
+    /**
+     * Lazily expand a thread: one page of direct replies of a comment, each expanded up to depth levels.
+     */
+    @GetMapping("/{id}/replies")
+    @PreAuthorize("hasAnyRole('DEVELOPER', 'ADMIN')")
+    public Mono<ResponseEntity<List<Comment>>> getReplies(
+            @PathVariable String id,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int limit,
+            @RequestParam(defaultValue = "2") int depth) {
+        int pageSize = Math.max(1, Math.min(limit, 500));
+        return commentService.getRepliesPage(id, cursor, pageSize, Math.max(0, depth - 1))
+                .map(page -> TaskController.withNextCursor(page.getComments(), page.getNextCursor()));
+    }
 }
@@ -0,0 +1,33 @@
+package miu.cs544.releasesystem.release.controller;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+/**
+ * If-None-Match handling for the polled list endpoints. The ETag is computed from a version stamp
+ * before the list is read, so a 304 is answered without loading or serializing any document.
+ */
+final class ETags {
+
+    private ETags() {
+    }
+
+    /**
+     * Whether the If-None-Match header (a list of tags, or *) contains the given tag. Weak
+     * validators are compared weakly, as RFC 9110 requires for If-None-Match.
+     */
+    static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank()) return false;
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*")) return true;
+            if (tag.startsWith("W/")) tag = tag.substring(2);
+            if (tag.equals(etag)) return true;
+        }
+        return false;
+    }
+
+    static <T> ResponseEntity<T> notModified(String etag) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+    }
+}
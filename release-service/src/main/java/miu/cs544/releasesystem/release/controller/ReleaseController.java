@@ -1,16 +1,33 @@
 package miu.cs544.releasesystem.release.controller;
 
+import miu.cs544.releasesystem.release.domain.ArchivedRelease;
 import miu.cs544.releasesystem.release.domain.Release;
+import miu.cs544.releasesystem.release.domain.ReleaseStatus;
 import miu.cs544.releasesystem.release.domain.Task;
 import miu.cs544.releasesystem.release.dto.ReleaseRequest;
+import miu.cs544.releasesystem.release.dto.ReleaseSummary;
+import miu.cs544.releasesystem.release.dto.ReleaseSummaryPage;
 import miu.cs544.releasesystem.release.dto.TaskRequest;
+import miu.cs544.releasesystem.release.service.ReleaseExportService;
 import miu.cs544.releasesystem.release.service.ReleaseService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.async.AsyncWebRequest;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import reactor.core.publisher.Mono;
 
+import java.time.Duration;
 import java.util.List;
+import java.util.concurrent.Callable;
 
 /**
  * ReleaseController manages the REST API for release lifecycle management.
@@ -21,7 +38,14 @@ import java.util.List;
 @RequiredArgsConstructor
 public class ReleaseController {
 
+    private static final int MAX_PAGE_SIZE = 500;
+    private static final String EXPORT_TIMEOUT_INTERCEPTOR = ReleaseController.class.getName() + ".exportTimeout";
+
     private final ReleaseService releaseService;
+    private final ReleaseExportService releaseExportService;
+
+    @Value("${release.export.timeout:30m}")
+    private Duration exportTimeout;
 
     /**
      * Create a new release. Admin only.
@@ -33,12 +57,103 @@ public class ReleaseController {
     }
 
     /**
-     * Get all releases in the system. Admin only.
+     * Get all releases in the system, with their tasks. Admin only.
+     * Prefer /releases/summary for listings; this returns every full document.
+     * Conditional: answers 304 to a matching If-None-Match without reading the releases.
      */
     @GetMapping
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<List<Release>> getAllReleases() {
-        return ResponseEntity.ok(releaseService.getAllReleases());
+    public Mono<ResponseEntity<List<Release>>> getAllReleases(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        // Stamp first: a write racing with the read yields a newer body under an older tag, never the reverse
+        return releaseService.getReleasesVersionStamp().flatMap(stamp -> {
+            String etag = stamp.toETag("releases");
+            if (ETags.matches(ifNoneMatch, etag)) return Mono.just(ETags.<List<Release>>notModified(etag));
+            return releaseService.getAllReleases().collectList()
+                    .map(releases -> ResponseEntity.ok().eTag(etag).body(releases));
+        });
+    }
+
+    /**
+     * Paged release summaries (per-status task counts, hotfix count, comment count) for the dashboard.
+     * Admin only. Keyset pagination: pass the X-Next-Cursor header of a page as cursor for the next one.
+     */
+    @GetMapping("/summary")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<List<ReleaseSummary>> getReleaseSummaries(
+            @RequestParam(required = false) List<ReleaseStatus> status,
+            @RequestParam(defaultValue = "updatedAt") String sort,
+            @RequestParam(defaultValue = "DESC") Sort.Direction direction,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int limit) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        ReleaseSummaryPage page = releaseService.getReleaseSummaries(status, sort, direction, cursor, pageSize);
+        return TaskController.withNextCursor(page.getReleases(), page.getNextCursor());
+    }
+
+    /**
+     * Export releases for reporting. Admin only. Streamed from a database cursor, so memory stays flat
+     * regardless of the number of releases.
+     * format=ndjson: one release document per line; format=csv: one row per task.
+     */
+    @GetMapping("/export")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<StreamingResponseBody> exportReleases(
+            @RequestParam(defaultValue = "ndjson") String format,
+            @RequestParam(required = false) List<ReleaseStatus> status,
+            NativeWebRequest request) {
+        extendAsyncTimeout(request, exportTimeout);
+        return switch (format.toLowerCase()) {
+            case "ndjson" -> ResponseEntity.ok()
+                    .contentType(MediaType.parseMediaType("application/x-ndjson"))
+                    .body(out -> releaseExportService.exportNdjson(status, out));
+            case "csv" -> ResponseEntity.ok()
+                    .contentType(MediaType.parseMediaType("text/csv"))
+                    .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"releases.csv\"")
+                    .body(out -> releaseExportService.exportCsv(status, out));
+            default -> throw new RuntimeException("Unsupported export format '" + format + "', expected ndjson or csv");
+        };
+    }
+
+    /**
+     * The body is written on an async request, which the container would otherwise end after the global
+     * async timeout. The timeout is applied when async processing starts, for this request only.
+     */
+    private static void extendAsyncTimeout(NativeWebRequest request, Duration timeout) {
+        WebAsyncUtils.getAsyncManager(request).registerCallableInterceptor(EXPORT_TIMEOUT_INTERCEPTOR,
+                new CallableProcessingInterceptor() {
+                    @Override
+                    public <T> void beforeConcurrentHandling(NativeWebRequest asyncRequest, Callable<T> task) {
+                        if (asyncRequest instanceof AsyncWebRequest async) {
+                            async.setTimeout(timeout.toMillis());
+                        }
+                    }
+                });
+    }
+
+    /**
+     * Releases moved to release_archive (metadata only, ordered by id). Admin only. Listings, summaries
+     * and exports above cover live releases; GET /releases/{id} still serves an archived one.
+     * Keyset pagination: pass the X-Next-Cursor header of a page as cursor for the next one.
+     */
+    @GetMapping("/archived")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<List<ArchivedRelease>> getArchivedReleases(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int limit) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        List<ArchivedRelease> releases = releaseService.getArchivedReleases(cursor, pageSize);
+        String nextCursor = releases.size() == pageSize ? releases.get(releases.size() - 1).getId() : null;
+        return TaskController.withNextCursor(releases, nextCursor);
+    }
+
+    /**
+     * Get one release with all its tasks. Admin only.
+     */
+    @GetMapping("/{id}")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Release> getRelease(@PathVariable String id) {
+        return ResponseEntity.ok(releaseService.getReleaseById(id));
     }
 
     /**
@@ -51,6 +166,16 @@ public class ReleaseController {
         return ResponseEntity.ok(releaseService.addTaskToRelease(id, taskRequest));
     }
 
+    /**
+     * Add a batch of tasks to a release in one update (bulk import of a release plan). Admin only.
+     * Same Hotfix Logic as the single add; orderIndex must be set and unique within the release.
+     */
+    @PostMapping("/{id}/tasks/batch")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Release> addTasks(@PathVariable String id, @RequestBody List<TaskRequest> taskRequests) {
+        return ResponseEntity.ok(releaseService.addTasksToRelease(id, taskRequests));
+    }
+
     /**
      * Complete a release. Admin only. All tasks must be COMPLETED.
      */
@@ -1,14 +1,18 @@
 package miu.cs544.releasesystem.release.controller;
 
 import miu.cs544.releasesystem.release.domain.Comment;
-import miu.cs544.releasesystem.release.domain.Task;
+import miu.cs544.releasesystem.release.domain.TaskView;
+import miu.cs544.releasesystem.release.domain.TaskStatus;
 import miu.cs544.releasesystem.release.dto.CommentRequest;
 import miu.cs544.releasesystem.release.security.SecurityUtil;
+import miu.cs544.releasesystem.release.service.CommentService;
 import miu.cs544.releasesystem.release.service.ReleaseService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
 
 import java.util.List;
 
@@ -17,26 +21,70 @@ import java.util.List;
 @RequiredArgsConstructor
 public class TaskController {
 
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    public static final String SYNC_TOKEN_HEADER = "X-Sync-Token";
+    private static final int MAX_PAGE_SIZE = 500;
+
     private final ReleaseService releaseService;
+    private final CommentService commentService;
 
     /**
-     * Get tasks assigned to the current authenticated developer.
+     * Get tasks assigned to the current authenticated developer, one page at a time.
+     * Optional status filter; comment trees only when includeComments=true.
+     * The cursor for the next page is returned in the X-Next-Cursor header. Conditional: answers 304
+     * to a matching If-None-Match without reading the tasks.
      */
     @GetMapping("/my")
     @PreAuthorize("hasAnyRole('DEVELOPER', 'ADMIN')")
-    public ResponseEntity<List<Task>> getMyTasks(
-            @RequestParam(required = false) String developerId) {
+    public Mono<ResponseEntity<List<TaskView>>> getMyTasks(
+            @RequestParam(required = false) String developerId,
+            @RequestParam(required = false) List<TaskStatus> status,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "100") int limit,
+            @RequestParam(defaultValue = "false") boolean includeComments,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         
         // Extract from JWT if not provided as parameter
         if (developerId == null || developerId.isBlank()) {
             try {
                 developerId = SecurityUtil.getCurrentUsername();
             } catch (IllegalStateException e) {
-                return ResponseEntity.status(401).build();
+                return Mono.just(ResponseEntity.status(401).build());
             }
         }
         
-        return ResponseEntity.ok(releaseService.getTasksForDeveloper(developerId));
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        String developer = developerId;
+        // Stamp first: a write racing with the read yields a newer body under an older tag, never the reverse
+        return releaseService.getTasksVersionStamp(developer).flatMap(stamp -> {
+            String etag = stamp.toETag(developer);
+            if (ETags.matches(ifNoneMatch, etag)) return Mono.just(ETags.<List<TaskView>>notModified(etag));
+            return releaseService.getTasksForDeveloper(developer, status, cursor, pageSize, includeComments)
+                    .map(page -> withNextCursor(page.getTasks(), page.getNextCursor(), etag));
+        });
+    }
+
+    /**
+     * Delta sync: the developer's tasks created, transitioned or commented on since the given token,
+     * oldest change first. Returns the token for the next call in the X-Sync-Token header; a full page
+     * means more changes are waiting. Without since, the whole task list is returned page by page.
+     */
+    @GetMapping("/my/changes")
+    @PreAuthorize("hasAnyRole('DEVELOPER', 'ADMIN')")
+    public Mono<ResponseEntity<List<TaskView>>> getMyTaskChanges(
+            @RequestParam(required = false) String developerId,
+            @RequestParam(required = false) String since,
+            @RequestParam(defaultValue = "100") int limit) {
+        if (developerId == null || developerId.isBlank()) {
+            try {
+                developerId = SecurityUtil.getCurrentUsername();
+            } catch (IllegalStateException e) {
+                return Mono.just(ResponseEntity.status(401).build());
+            }
+        }
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        return releaseService.getTaskChangesForDeveloper(developerId, since, pageSize)
+                .map(page -> ResponseEntity.ok().header(SYNC_TOKEN_HEADER, page.getNextCursor()).body(page.getTasks()));
     }
 
     /**
@@ -99,16 +147,42 @@ public class TaskController {
                 return ResponseEntity.status(401).build();
             }
         }
-        releaseService.addComment(id, developerId, request.getContent());
+        commentService.addComment(id, developerId, request.getContent());
         return ResponseEntity.ok().build();
     }
 
     /**
-     * Get all comments for a task (threaded discussion). Developer/Admin only.
+     * Get the comments of a task (threaded discussion). Developer/Admin only.
+     * Pages by top-level comment (cursor in X-Next-Cursor); replies are expanded up to depth levels
+     * and a bounded number per page, the rest are fetched with GET /comments/{id}/replies.
      */
     @GetMapping("/{id}/comments")
     @PreAuthorize("hasAnyRole('DEVELOPER', 'ADMIN')")
-    public ResponseEntity<List<Comment>> getComments(@PathVariable String id) {
-        return ResponseEntity.ok(releaseService.getCommentsForTask(id));
+    public Mono<ResponseEntity<List<Comment>>> getComments(
+            @PathVariable String id,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int limit,
+            @RequestParam(defaultValue = "10") int depth) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        return commentService.getThreadPage(id, cursor, pageSize, Math.max(0, depth))
+                .map(page -> withNextCursor(page.getComments(), page.getNextCursor()));
+    }
+
+    /**
+     * 200 with the page items as body and, when there is a next page, its cursor in X-Next-Cursor.
+     */
+    static <T> ResponseEntity<List<T>> withNextCursor(List<T> items, String nextCursor) {
+        return withNextCursor(items, nextCursor, null);
+    }
+
+    static <T> ResponseEntity<List<T>> withNextCursor(List<T> items, String nextCursor, String etag) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (nextCursor != null) {
+            response.header(NEXT_CURSOR_HEADER, nextCursor);
+        }
+        if (etag != null) {
+            response.eTag(etag);
+        }
+        return response.body(items);
     }
 }
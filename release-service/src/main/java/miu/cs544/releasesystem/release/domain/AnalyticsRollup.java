@@ -0,0 +1,72 @@
+package miu.cs544.releasesystem.release.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+/**
+ * Pre-aggregated delivery metrics for one release, one developer or one day (UTC, by event date).
+ * Kept current with $inc on every task transition; the averages and rates are derived on read.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "analytics_rollups")
+public class AnalyticsRollup {
+
+    public static final String RELEASE = "release";
+    public static final String DEVELOPER = "developer";
+    public static final String DAY = "day";
+
+    @Id
+    private String id; // dimension:key
+    private String dimension;
+    private String key; // release id, developer id or yyyy-MM-dd
+    private long tasksCreated;
+    private long tasksStarted;
+    private long tasksCompleted;
+    private long completedWithStart; // completions that have a startedAt, the cycle time denominator
+    private long cycleTimeMsSum;     // startedAt -> completedAt
+    private long leadTimeMsSum;      // createdAt -> completedAt
+    private long hotfixes;           // reopenings of a completed release
+    private long releasesCompleted;
+    private Instant updatedAt;
+
+    public static String id(String dimension, String key) {
+        return dimension + ":" + key;
+    }
+
+    public Long getAvgCycleTimeMs() {
+        return completedWithStart > 0 ? cycleTimeMsSum / completedWithStart : null;
+    }
+
+    public Long getAvgLeadTimeMs() {
+        return tasksCompleted > 0 ? leadTimeMsSum / tasksCompleted : null;
+    }
+
+    /**
+     * Hotfixes per completed release (the share of releases that had to be reopened, on a release rollup).
+     */
+    public Double getHotfixRate() {
+        return releasesCompleted > 0 ? (double) hotfixes / releasesCompleted : null;
+    }
+
+    /**
+     * Sums another rollup into this one (coarser time buckets on read).
+     */
+    public void add(AnalyticsRollup other) {
+        tasksCreated += other.tasksCreated;
+        tasksStarted += other.tasksStarted;
+        tasksCompleted += other.tasksCompleted;
+        completedWithStart += other.completedWithStart;
+        cycleTimeMsSum += other.cycleTimeMsSum;
+        leadTimeMsSum += other.leadTimeMsSum;
+        hotfixes += other.hotfixes;
+        releasesCompleted += other.releasesCompleted;
+        if (other.updatedAt != null && (updatedAt == null || other.updatedAt.isAfter(updatedAt))) updatedAt = other.updatedAt;
+    }
+}
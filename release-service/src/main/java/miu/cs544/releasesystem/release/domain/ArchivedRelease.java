@@ -0,0 +1,32 @@
+package miu.cs544.releasesystem.release.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Cold-tier copy of a completed release: the original releases document as gzip-compressed BSON,
+ * plus the few fields needed to list archived releases without decompressing them.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "release_archive")
+public class ArchivedRelease {
+    @Id
+    private String id; // same as Release.id
+    private String name;
+    private Long version; // Release.version at the time of archiving
+    private Instant createdAt;
+    private Instant completedAt;
+    private Instant archivedAt;
+    private int taskCount;
+    private List<String> taskIds; // lets a comment on an archived task find its release
+    private int rawSize;
+    private byte[] payload;
+}
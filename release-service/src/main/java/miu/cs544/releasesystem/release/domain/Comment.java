@@ -3,18 +3,50 @@ package miu.cs544.releasesystem.release.domain;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Transient;
+import org.springframework.data.mongodb.core.mapping.Document;
+
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
 
+/**
+ * A forum comment or reply. Stored in its own collection (not embedded in Release) with
+ * materialized-path fields so a thread can be paged by top-level comment and expanded lazily.
+ */
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
+@Document(collection = "comments")
 public class Comment {
+    @Id
     private String id = UUID.randomUUID().toString();
+    private String releaseId;
+    private String taskId;
+    private String parentId;                              // null for a top-level comment
+    private List<String> ancestors = new ArrayList<>();   // top-level comment first, parent last
+    private String path;                                  // "rootId/.../id", materialized path
+    private int depth;                                    // 0 for a top-level comment
+    private int replyCount;                               // direct replies
     private String authorId;
     private String content;
     private Instant timestamp = Instant.now();
+    private boolean archived;                             // the release is in release_archive
+
+    // Assembled per request up to the requested depth; replyCount tells whether more exist
+    @Transient
     private List<Comment> replies = new ArrayList<>();
+
+    public Comment replyTo(Comment parent) {
+        this.releaseId = parent.getReleaseId();
+        this.taskId = parent.getTaskId();
+        this.parentId = parent.getId();
+        this.ancestors = new ArrayList<>(parent.getAncestors());
+        this.ancestors.add(parent.getId());
+        this.path = parent.getPath() + "/" + id;
+        this.depth = parent.getDepth() + 1;
+        return this;
+    }
 }
@@ -0,0 +1,25 @@
+package miu.cs544.releasesystem.release.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+/**
+ * The single IN_PROCESS task a developer may hold. Keyed by developer id, so the _id unique index
+ * lets only one start win.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "developer_slots")
+public class DeveloperSlot {
+    @Id
+    private String developerId;
+    private String releaseId;
+    private String taskId;
+    private Instant claimedAt;
+}
@@ -0,0 +1,26 @@
+package miu.cs544.releasesystem.release.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+/**
+ * Where a read-model projection stopped: the change-stream resume token, or, when the server
+ * does not support change streams, the (updatedAt, _id) of the last release that was projected.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "projection_checkpoints")
+public class ProjectionCheckpoint {
+    @Id
+    private String id; // projection name, e.g. "task_view"
+    private org.bson.Document resumeToken;
+    private Instant lastUpdatedAt;
+    private String lastId; // null: every release at lastUpdatedAt is projected again
+    private Instant checkpointedAt;
+}
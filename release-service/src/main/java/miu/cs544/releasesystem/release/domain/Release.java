@@ -5,6 +5,7 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 import miu.cs544.releasesystem.release.domain.ReleaseStatus;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.time.Instant;
@@ -18,6 +19,8 @@ import java.util.List;
 public class Release {
     @Id
     private String id;
+    @Version
+    private Long version; // bumped by every write, including the targeted task updates
     private String name;
     private String description;
     private Instant createdAt;
@@ -25,6 +28,7 @@ public class Release {
     private boolean reopened = false;
     private Integer hotfixCount = 0;
     private Instant reopenedAt;
+    private Instant completedAt; // last completion; cleared when a hotfix reopens the release
     private ReleaseStatus status = ReleaseStatus.IN_PROGRESS;
     private List<Task> tasks = new ArrayList<>();
 }
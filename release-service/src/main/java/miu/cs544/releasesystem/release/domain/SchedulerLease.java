@@ -0,0 +1,27 @@
+package miu.cs544.releasesystem.release.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+/**
+ * A time-bound claim of a background job (or one partition of it) by a release-service node.
+ * The token is incremented on every change of owner and serves as a fencing token. Node heartbeats
+ * are stored in the same collection with an id of "node:&lt;nodeId&gt;".
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "scheduler_leases")
+public class SchedulerLease {
+    @Id
+    private String id; // lease name, e.g. "system-health" or "stale-tasks:3"
+    private String owner;
+    private long token;
+    private Instant acquiredAt;
+    private Instant expiresAt;
+}
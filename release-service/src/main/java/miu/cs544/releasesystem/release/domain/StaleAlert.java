@@ -0,0 +1,35 @@
+package miu.cs544.releasesystem.release.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+/**
+ * Notification state of a stale task: how often it was reported during its current IN_PROCESS
+ * period and when it is due again. Keyed by task id; documents of tasks that stopped being stale
+ * are removed by a TTL index on expireAt.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "stale_alerts")
+public class StaleAlert {
+    @Id
+    private String taskId;
+    private Instant startedAt; // a restarted task starts over at level 0
+    private int level; // number of notifications sent before the last one
+    private Instant lastNotifiedAt;
+    private Instant nextNotifyAt;
+    private Instant expireAt;
+    // Fencing: the partition lease and token the last notification was recorded under
+    private String lease;
+    private long token;
+
+    public boolean isFor(Instant taskStartedAt) {
+        return startedAt != null && startedAt.equals(taskStartedAt);
+    }
+}
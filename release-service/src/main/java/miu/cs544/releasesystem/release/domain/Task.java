@@ -4,8 +4,6 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import java.time.Instant;
-import java.util.ArrayList;
-import java.util.List;
 import java.util.UUID;
 
 @Data
@@ -21,5 +19,6 @@ public class Task {
     private Instant createdAt = Instant.now();
     private Instant startedAt;   // Used for stale detection
     private Instant completedAt;
-    private List<Comment> comments = new ArrayList<>();
+    private Instant updatedAt = Instant.now(); // last write to the task or its comment count (delta sync)
+    private Integer commentCount = 0; // comments live in their own collection
 }
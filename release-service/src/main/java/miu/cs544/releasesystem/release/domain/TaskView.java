@@ -0,0 +1,64 @@
+package miu.cs544.releasesystem.release.domain;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Transient;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Read model: one small document per task, projected from the releases collection by TaskViewProjector.
+ * Never written by the request path; Release stays the source of truth.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "task_view")
+public class TaskView {
+    @Id
+    private String id; // same as Task.id
+    private String releaseId;
+    private String releaseName;
+    private String title;
+    private String description;
+    private TaskStatus status;
+    private String assignedDeveloperId;
+    private Integer orderIndex;
+    private Instant createdAt;
+    private Instant startedAt;
+    private Instant completedAt;
+    private Instant updatedAt;
+    private int commentCount;
+    private Instant projectedAt;
+    private Long releaseVersion; // Release.version this view was projected from (ETag stamps)
+
+    // Only populated when the caller asks for comment trees
+    @Transient
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private List<Comment> comments;
+
+    public static TaskView of(Release release, Task task) {
+        TaskView view = new TaskView();
+        view.setId(task.getId());
+        view.setReleaseId(release.getId());
+        view.setReleaseName(release.getName());
+        view.setTitle(task.getTitle());
+        view.setDescription(task.getDescription());
+        view.setStatus(task.getStatus());
+        view.setAssignedDeveloperId(task.getAssignedDeveloperId());
+        view.setOrderIndex(task.getOrderIndex());
+        view.setCreatedAt(task.getCreatedAt());
+        view.setStartedAt(task.getStartedAt());
+        view.setCompletedAt(task.getCompletedAt());
+        view.setUpdatedAt(task.getUpdatedAt());
+        view.setCommentCount(task.getCommentCount() != null ? task.getCommentCount() : 0);
+        view.setProjectedAt(Instant.now());
+        view.setReleaseVersion(release.getVersion());
+        return view;
+    }
+}
@@ -0,0 +1,14 @@
+package miu.cs544.releasesystem.release.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import miu.cs544.releasesystem.release.domain.Comment;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class CommentPage {
+    private List<Comment> comments;
+    private String nextCursor; // null when there are no more comments at this level
+}
@@ -0,0 +1,40 @@
+package miu.cs544.releasesystem.release.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+
+/**
+ * Opaque keyset cursor for listings ordered by (timestamp, id): the position of the last item returned.
+ */
+@Data
+@AllArgsConstructor
+public class KeysetCursor {
+    private Instant timestamp;
+    private String id;
+
+    public String encode() {
+        String raw = timestamp.toEpochMilli() + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static KeysetCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int sep = raw.indexOf(':');
+            return new KeysetCursor(Instant.ofEpochMilli(Long.parseLong(raw.substring(0, sep))), raw.substring(sep + 1));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+    }
+
+    /**
+     * Parses an optional request parameter; null or blank means "first page".
+     */
+    public static KeysetCursor parse(String cursor) {
+        return cursor == null || cursor.isBlank() ? null : decode(cursor);
+    }
+}
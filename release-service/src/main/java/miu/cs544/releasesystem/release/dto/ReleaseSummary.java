@@ -0,0 +1,30 @@
+package miu.cs544.releasesystem.release.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import miu.cs544.releasesystem.release.domain.ReleaseStatus;
+
+import java.time.Instant;
+
+/**
+ * Dashboard row for a release: its fields and per-status task counts, without the tasks themselves.
+ * Computed by the releases aggregation in ReleaseRepositoryImpl.findSummaries.
+ */
+@Data
+@NoArgsConstructor
+public class ReleaseSummary {
+    private String id;
+    private String name;
+    private String description;
+    private ReleaseStatus status;
+    private boolean reopened;
+    private Integer hotfixCount;
+    private Instant reopenedAt;
+    private Instant createdAt;
+    private Instant updatedAt;
+    private int taskCount;
+    private int todoCount;
+    private int inProcessCount;
+    private int completedCount;
+    private int commentCount;
+}
@@ -0,0 +1,13 @@
+package miu.cs544.releasesystem.release.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class ReleaseSummaryPage {
+    private List<ReleaseSummary> releases;
+    private String nextCursor; // null when there are no more releases
+}
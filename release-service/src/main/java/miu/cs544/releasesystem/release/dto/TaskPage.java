@@ -0,0 +1,14 @@
+package miu.cs544.releasesystem.release.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import miu.cs544.releasesystem.release.domain.TaskView;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class TaskPage {
+    private List<TaskView> tasks;
+    private String nextCursor; // null when there are no more tasks
+}
@@ -0,0 +1,34 @@
+package miu.cs544.releasesystem.release.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Summary of a set of documents that changes whenever one of them does: every release write bumps
+ * both updatedAt and version, so the version sum also moves for writes within the same millisecond.
+ * Computed from covering indexes, without loading the documents.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class VersionStamp {
+
+    public static final VersionStamp EMPTY = new VersionStamp(0, 0, null);
+
+    private long count;
+    private long versionSum;
+    private Instant lastModified;
+
+    /**
+     * Strong entity tag for the documents of the given scope (collection or developer).
+     */
+    public String toETag(String scope) {
+        return "\"" + Integer.toHexString(scope.hashCode())
+                + "-" + Long.toHexString(count)
+                + "-" + Long.toHexString(versionSum)
+                + "-" + Long.toHexString(lastModified != null ? lastModified.toEpochMilli() : 0) + "\"";
+    }
+}
@@ -0,0 +1,13 @@
+package miu.cs544.releasesystem.release.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ReleaseInvalidatedEvent {
+    private String releaseId;
+    private String origin; // instance that wrote the release
+}
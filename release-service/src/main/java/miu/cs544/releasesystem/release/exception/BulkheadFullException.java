@@ -0,0 +1,12 @@
+package miu.cs544.releasesystem.release.exception;
+
+/**
+ * Thrown when a dependency's concurrency bulkhead has no free permit within its wait time.
+ * Results in HTTP 503 Service Unavailable so clients back off instead of piling up.
+ */
+public class BulkheadFullException extends RuntimeException {
+
+    public BulkheadFullException(String message) {
+        super(message);
+    }
+}
@@ -4,9 +4,8 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import miu.cs544.releasesystem.release.event.SystemErrorEvent;
 import miu.cs544.releasesystem.release.exception.BusinessRuleException;
-import miu.cs544.releasesystem.release.service.KafkaProducerService;
+import miu.cs544.releasesystem.release.service.SystemErrorAggregator;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
@@ -19,20 +18,13 @@ import java.time.Instant;
 @RequiredArgsConstructor
 public class GlobalExceptionHandler {
 
-    private final KafkaProducerService kafkaProducerService;
+    private final SystemErrorAggregator systemErrorAggregator;
 
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ErrorResponse> handleException(Exception ex) {
         log.error("Unhandled exception occurred: ", ex);
-        try {
-            kafkaProducerService.sendSystemErrorEvent(new SystemErrorEvent(
-                "HTTP_500",
-                "Server error: " + ex.getMessage(),
-                Instant.now()
-            ));
-        } catch (Exception e) {
-            log.warn("Failed to send SystemErrorEvent", e);
-        }
+        // Published as one SystemErrorEvent per distinct error per window, not per request
+        systemErrorAggregator.record("HTTP_500", ex);
         return new ResponseEntity<>(
                 new ErrorResponse(HttpStatus.INTERNAL_SERVER_ERROR.value(), ex.getMessage(), ex.getClass().getName()),
                 HttpStatus.INTERNAL_SERVER_ERROR
@@ -48,6 +40,15 @@ public class GlobalExceptionHandler {
         );
     }
 
+    @ExceptionHandler(BulkheadFullException.class)
+    public ResponseEntity<ErrorResponse> handleBulkheadFull(BulkheadFullException ex) {
+        log.warn("Bulkhead rejected call: {}", ex.getMessage());
+        return new ResponseEntity<>(
+                new ErrorResponse(HttpStatus.SERVICE_UNAVAILABLE.value(), ex.getMessage(), ex.getClass().getSimpleName()),
+                HttpStatus.SERVICE_UNAVAILABLE
+        );
+    }
+
     @ExceptionHandler(RuntimeException.class)
     public ResponseEntity<ErrorResponse> handleRuntimeException(RuntimeException ex) {
         log.error("Runtime exception occurred: ", ex);
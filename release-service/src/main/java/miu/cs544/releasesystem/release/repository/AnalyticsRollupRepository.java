@@ -0,0 +1,20 @@
+package miu.cs544.releasesystem.release.repository;
+
+import miu.cs544.releasesystem.release.domain.AnalyticsRollup;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface AnalyticsRollupRepository extends MongoRepository<AnalyticsRollup, String>, AnalyticsRollupRepositoryCustom {
+
+    List<AnalyticsRollup> findByDimension(String dimension, Pageable pageable);
+
+    // Inclusive key range; day keys are yyyy-MM-dd, so they sort chronologically
+    @Query("{ 'dimension': ?0, 'key': { $gte: ?1, $lte: ?2 } }")
+    List<AnalyticsRollup> findByDimensionAndKeyRange(String dimension, String from, String to, Sort sort);
+}
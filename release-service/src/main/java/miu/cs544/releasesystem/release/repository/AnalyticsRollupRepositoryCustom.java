@@ -0,0 +1,25 @@
+package miu.cs544.releasesystem.release.repository;
+
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * Writes of the analytics rollups (see {@link AnalyticsRollupRepositoryImpl}).
+ */
+public interface AnalyticsRollupRepositoryCustom {
+
+    /**
+     * Applies counter deltas to several rollups in one unordered bulk write, creating missing ones.
+     *
+     * @param deltasById counter field deltas per rollup id (dimension:key)
+     */
+    void increment(Map<String, Map<String, Long>> deltasById, Instant now);
+
+    /**
+     * Recomputes every rollup from the live releases plus the releases of another collection, with
+     * aggregation pipelines merged into analytics_rollups.
+     *
+     * @param archivedReleases collection holding the decompressed archived releases, or null
+     */
+    void rebuild(String archivedReleases);
+}
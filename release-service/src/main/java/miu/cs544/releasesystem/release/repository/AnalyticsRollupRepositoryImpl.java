@@ -0,0 +1,180 @@
+package miu.cs544.releasesystem.release.repository;
+
+import lombok.RequiredArgsConstructor;
+import miu.cs544.releasesystem.release.domain.AnalyticsRollup;
+import org.bson.Document;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+@RequiredArgsConstructor
+public class AnalyticsRollupRepositoryImpl implements AnalyticsRollupRepositoryCustom {
+
+    private static final String RELEASES = "releases";
+    private static final String ROLLUPS = "analytics_rollups";
+
+    private static final Document TASKS = new Document("$ifNull", List.of("$tasks", List.of()));
+    private static final Document MERGE = new Document("$merge", new Document("into", ROLLUPS)
+            .append("whenMatched", "replace")
+            .append("whenNotMatched", "insert"));
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public void increment(Map<String, Map<String, Long>> deltasById, Instant now) {
+        if (deltasById.isEmpty()) return;
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, AnalyticsRollup.class);
+        deltasById.forEach((id, deltas) -> {
+            int sep = id.indexOf(':');
+            Update update = new Update()
+                    .setOnInsert("dimension", id.substring(0, sep))
+                    .setOnInsert("key", id.substring(sep + 1))
+                    .set("updatedAt", now);
+            deltas.forEach(update::inc);
+            bulk.upsert(Query.query(Criteria.where("_id").is(id)), update);
+        });
+        bulk.execute();
+    }
+
+    @Override
+    public void rebuild(String archivedReleases) {
+        var releases = mongoTemplate.getCollection(RELEASES);
+        releases.aggregate(withArchived(archivedReleases, releasePipeline())).toCollection();
+        releases.aggregate(withArchived(archivedReleases, developerPipeline())).toCollection();
+        releases.aggregate(withArchived(archivedReleases, dayPipeline())).toCollection();
+    }
+
+    // Replacing merges: the archived releases have to be part of the same pipeline as the live ones
+    private static List<Document> withArchived(String archivedReleases, List<Document> pipeline) {
+        if (archivedReleases == null) return pipeline;
+        List<Document> union = new ArrayList<>(pipeline.size() + 1);
+        union.add(new Document("$unionWith", archivedReleases));
+        union.addAll(pipeline);
+        return union;
+    }
+
+    // One rollup per release, computed from its embedded tasks without unwinding them
+    private static List<Document> releasePipeline() {
+        Document key = new Document("$toString", "$_id");
+        Document completed = new Document("$filter", new Document("input", TASKS).append("cond", isCompleted("$$this")));
+        return List.of(
+                new Document("$project", new Document("_id", new Document("$concat", List.of(AnalyticsRollup.RELEASE + ":", key)))
+                        .append("dimension", AnalyticsRollup.RELEASE)
+                        .append("key", key)
+                        .append("tasksCreated", new Document("$size", TASKS))
+                        .append("tasksStarted", new Document("$size", new Document("$filter", new Document("input", TASKS)
+                                .append("cond", exists("$$this.startedAt")))))
+                        .append("tasksCompleted", new Document("$size", completed))
+                        .append("completedWithStart", new Document("$size", new Document("$filter", new Document("input", completed)
+                                .append("cond", exists("$$this.startedAt")))))
+                        .append("cycleTimeMsSum", new Document("$sum", new Document("$map", new Document("input", completed)
+                                .append("in", duration("$$this.startedAt", "$$this.completedAt")))))
+                        .append("leadTimeMsSum", new Document("$sum", new Document("$map", new Document("input", completed)
+                                .append("in", duration("$$this.createdAt", "$$this.completedAt")))))
+                        .append("hotfixes", new Document("$ifNull", List.of("$hotfixCount", 0)))
+                        // every reopening followed a completion
+                        .append("releasesCompleted", new Document("$add", List.of(new Document("$ifNull", List.of("$hotfixCount", 0)),
+                                new Document("$cond", List.of(new Document("$eq", List.of("$status", "COMPLETED")), 1, 0)))))
+                        .append("updatedAt", "$$NOW")),
+                MERGE);
+    }
+
+    // A task counts as started once, on the day of its latest start (see AnalyticsService.onTaskStarted)
+    private static List<Document> developerPipeline() {
+        return List.of(
+                new Document("$unwind", "$tasks"),
+                new Document("$match", new Document("tasks.assignedDeveloperId", new Document("$ne", null))),
+                new Document("$group", new Document("_id", "$tasks.assignedDeveloperId")
+                        .append("tasksCreated", new Document("$sum", 1))
+                        .append("tasksStarted", count(exists("$tasks.startedAt")))
+                        .append("tasksCompleted", count(isCompleted("$tasks")))
+                        .append("completedWithStart", count(new Document("$and", List.of(isCompleted("$tasks"), exists("$tasks.startedAt")))))
+                        .append("cycleTimeMsSum", new Document("$sum", new Document("$cond", List.of(isCompleted("$tasks"),
+                                duration("$tasks.startedAt", "$tasks.completedAt"), 0))))
+                        .append("leadTimeMsSum", new Document("$sum", new Document("$cond", List.of(isCompleted("$tasks"),
+                                duration("$tasks.createdAt", "$tasks.completedAt"), 0))))),
+                new Document("$project", new Document("_id", new Document("$concat", List.of(AnalyticsRollup.DEVELOPER + ":", "$_id")))
+                        .append("dimension", AnalyticsRollup.DEVELOPER)
+                        .append("key", "$_id")
+                        .append("tasksCreated", 1).append("tasksStarted", 1).append("tasksCompleted", 1)
+                        .append("completedWithStart", 1).append("cycleTimeMsSum", 1).append("leadTimeMsSum", 1)
+                        .append("hotfixes", new Document("$literal", 0)).append("releasesCompleted", new Document("$literal", 0))
+                        .append("updatedAt", "$$NOW")),
+                MERGE);
+    }
+
+    /**
+     * Every task and release is turned into dated events (created, started, completed, reopened),
+     * which are then grouped by day. Only the last reopening of a release is dated, so all of its
+     * hotfixes are counted on that day.
+     */
+    private static List<Document> dayPipeline() {
+        Document taskEvents = new Document("$map", new Document("input", TASKS).append("as", "t").append("in",
+                new Document("$concatArrays", List.of(
+                        List.of(new Document("day", day("$$t.createdAt")).append("tasksCreated", 1)),
+                        when(exists("$$t.startedAt"), new Document("day", day("$$t.startedAt")).append("tasksStarted", 1)),
+                        when(isCompleted("$$t"), new Document("day", day("$$t.completedAt"))
+                                .append("tasksCompleted", 1)
+                                .append("completedWithStart", new Document("$cond", List.of(exists("$$t.startedAt"), 1, 0)))
+                                .append("cycleTimeMsSum", duration("$$t.startedAt", "$$t.completedAt"))
+                                .append("leadTimeMsSum", duration("$$t.createdAt", "$$t.completedAt")))))));
+        Document flatTaskEvents = new Document("$reduce", new Document("input", taskEvents)
+                .append("initialValue", List.of())
+                .append("in", new Document("$concatArrays", List.of("$$value", "$$this"))));
+        Document releaseEvents = new Document("$concatArrays", List.of(
+                when(new Document("$eq", List.of("$status", "COMPLETED")),
+                        new Document("day", day(new Document("$ifNull", List.of("$completedAt", "$updatedAt")))).append("releasesCompleted", 1)),
+                when(exists("$reopenedAt"), new Document("day", day("$reopenedAt")).append("hotfixes", "$hotfixCount"))));
+
+        Document group = new Document("_id", "$events.day");
+        for (String field : List.of("tasksCreated", "tasksStarted", "tasksCompleted", "completedWithStart",
+                "cycleTimeMsSum", "leadTimeMsSum", "hotfixes", "releasesCompleted")) {
+            group.append(field, new Document("$sum", "$events." + field));
+        }
+        return List.of(
+                new Document("$project", new Document("events", new Document("$concatArrays", List.of(flatTaskEvents, releaseEvents)))),
+                new Document("$unwind", "$events"),
+                new Document("$match", new Document("events.day", new Document("$ne", null))),
+                new Document("$group", group),
+                new Document("$addFields", new Document("dimension", AnalyticsRollup.DAY)
+                        .append("key", "$_id")
+                        .append("_id", new Document("$concat", List.of(AnalyticsRollup.DAY + ":", "$_id")))
+                        .append("updatedAt", "$$NOW")),
+                MERGE);
+    }
+
+    private static Document isCompleted(String task) {
+        return new Document("$eq", List.of(task + ".status", "COMPLETED"));
+    }
+
+    // true when the field holds a value (missing and null compare below every date)
+    private static Document exists(String field) {
+        return new Document("$gt", Arrays.asList(field, null));
+    }
+
+    private static Document count(Document condition) {
+        return new Document("$sum", new Document("$cond", List.of(condition, 1, 0)));
+    }
+
+    // Milliseconds between two dates, 0 when either is missing
+    private static Document duration(String from, String to) {
+        return new Document("$cond", List.of(new Document("$and", List.of(exists(from), exists(to))),
+                new Document("$subtract", List.of(to, from)), 0));
+    }
+
+    private static Document day(Object date) {
+        return new Document("$dateToString", new Document("format", "%Y-%m-%d").append("date", date));
+    }
+
+    private static Document when(Document condition, Document event) {
+        return new Document("$cond", List.of(condition, List.of(event), List.of()));
+    }
+}
@@ -0,0 +1,9 @@
+package miu.cs544.releasesystem.release.repository;
+
+import miu.cs544.releasesystem.release.domain.Comment;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface CommentRepository extends MongoRepository<Comment, String>, CommentRepositoryCustom {
+}
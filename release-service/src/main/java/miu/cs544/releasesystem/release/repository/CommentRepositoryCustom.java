@@ -0,0 +1,10 @@
+package miu.cs544.releasesystem.release.repository;
+
+/**
+ * Counter updates on the comments collection (see {@link CommentRepositoryImpl}).
+ * Thread reads go through {@link ReactiveCommentRepository}.
+ */
+public interface CommentRepositoryCustom {
+
+    void incrementReplyCount(String commentId);
+}
@@ -0,0 +1,20 @@
+package miu.cs544.releasesystem.release.repository;
+
+import lombok.RequiredArgsConstructor;
+import miu.cs544.releasesystem.release.domain.Comment;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+@RequiredArgsConstructor
+public class CommentRepositoryImpl implements CommentRepositoryCustom {
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public void incrementReplyCount(String commentId) {
+        mongoTemplate.updateFirst(Query.query(Criteria.where("_id").is(commentId)),
+                new Update().inc("replyCount", 1), Comment.class);
+    }
+}
@@ -0,0 +1,9 @@
+package miu.cs544.releasesystem.release.repository;
+
+import miu.cs544.releasesystem.release.domain.ProjectionCheckpoint;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ProjectionCheckpointRepository extends MongoRepository<ProjectionCheckpoint, String> {
+}
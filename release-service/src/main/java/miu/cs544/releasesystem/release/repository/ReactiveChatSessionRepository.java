@@ -0,0 +1,12 @@
+package miu.cs544.releasesystem.release.repository;
+
+import miu.cs544.releasesystem.release.domain.ChatSession;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Non-blocking reads of chat sessions (history); writes stay on {@link ChatSessionRepository}.
+ */
+@Repository
+public interface ReactiveChatSessionRepository extends ReactiveMongoRepository<ChatSession, String> {
+}
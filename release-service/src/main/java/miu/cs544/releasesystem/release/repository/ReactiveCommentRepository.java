@@ -0,0 +1,12 @@
+package miu.cs544.releasesystem.release.repository;
+
+import miu.cs544.releasesystem.release.domain.Comment;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Non-blocking thread reads on the comments collection; writes stay on {@link CommentRepository}.
+ */
+@Repository
+public interface ReactiveCommentRepository extends ReactiveMongoRepository<Comment, String>, ReactiveCommentRepositoryCustom {
+}
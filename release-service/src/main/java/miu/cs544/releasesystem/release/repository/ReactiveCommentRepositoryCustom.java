@@ -0,0 +1,30 @@
+package miu.cs544.releasesystem.release.repository;
+
+import miu.cs544.releasesystem.release.domain.Comment;
+import miu.cs544.releasesystem.release.dto.KeysetCursor;
+import reactor.core.publisher.Flux;
+
+import java.util.Collection;
+
+/**
+ * Thread queries on the comments collection (see {@link ReactiveCommentRepositoryImpl}).
+ */
+public interface ReactiveCommentRepositoryCustom {
+
+    /**
+     * One page of the direct children of a comment, or of the top-level comments of a task when
+     * parentId is null, ordered by (timestamp, id).
+     */
+    Flux<Comment> findChildrenPage(String taskId, String parentId, KeysetCursor after, int limit);
+
+    /**
+     * Descendants of the given comments down to (and including) maxDepth, shallowest first and by
+     * timestamp within a level, at most limit of them.
+     */
+    Flux<Comment> findDescendants(Collection<String> ancestorIds, int maxDepth, int limit);
+
+    /**
+     * Every comment of the given tasks, ordered by timestamp.
+     */
+    Flux<Comment> findByTaskIds(Collection<String> taskIds);
+}
@@ -0,0 +1,48 @@
+package miu.cs544.releasesystem.release.repository;
+
+import lombok.RequiredArgsConstructor;
+import miu.cs544.releasesystem.release.domain.Comment;
+import miu.cs544.releasesystem.release.dto.KeysetCursor;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import reactor.core.publisher.Flux;
+
+import java.util.Collection;
+
+@RequiredArgsConstructor
+public class ReactiveCommentRepositoryImpl implements ReactiveCommentRepositoryCustom {
+
+    private static final Sort THREAD_ORDER = Sort.by(Sort.Direction.ASC, "timestamp", "_id");
+    // Level by level, so a truncated result never holds a reply without its parent
+    private static final Sort BREADTH_FIRST = Sort.by(Sort.Direction.ASC, "depth").and(THREAD_ORDER);
+
+    private final ReactiveMongoTemplate reactiveMongoTemplate;
+
+    @Override
+    public Flux<Comment> findChildrenPage(String taskId, String parentId, KeysetCursor after, int limit) {
+        Criteria criteria = parentId == null
+                ? Criteria.where("taskId").is(taskId).and("parentId").is(null)
+                : Criteria.where("parentId").is(parentId);
+        if (after != null) {
+            criteria = criteria.orOperator(
+                    Criteria.where("timestamp").gt(after.getTimestamp()),
+                    Criteria.where("timestamp").is(after.getTimestamp()).and("_id").gt(after.getId()));
+        }
+        return reactiveMongoTemplate.find(Query.query(criteria).with(THREAD_ORDER).limit(limit), Comment.class);
+    }
+
+    @Override
+    public Flux<Comment> findDescendants(Collection<String> ancestorIds, int maxDepth, int limit) {
+        Query query = Query.query(Criteria.where("ancestors").in(ancestorIds).and("depth").lte(maxDepth))
+                .with(BREADTH_FIRST)
+                .limit(limit);
+        return reactiveMongoTemplate.find(query, Comment.class);
+    }
+
+    @Override
+    public Flux<Comment> findByTaskIds(Collection<String> taskIds) {
+        return reactiveMongoTemplate.find(Query.query(Criteria.where("taskId").in(taskIds)).with(THREAD_ORDER), Comment.class);
+    }
+}
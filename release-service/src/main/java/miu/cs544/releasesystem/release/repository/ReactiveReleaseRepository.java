@@ -0,0 +1,12 @@
+package miu.cs544.releasesystem.release.repository;
+
+import miu.cs544.releasesystem.release.domain.Release;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Non-blocking reads of releases for the query endpoints; writes stay on {@link ReleaseRepository}.
+ */
+@Repository
+public interface ReactiveReleaseRepository extends ReactiveMongoRepository<Release, String>, ReactiveReleaseRepositoryCustom {
+}
@@ -0,0 +1,31 @@
+package miu.cs544.releasesystem.release.repository;
+
+import miu.cs544.releasesystem.release.domain.TaskView;
+import miu.cs544.releasesystem.release.dto.KeysetCursor;
+import miu.cs544.releasesystem.release.dto.VersionStamp;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Index-backed queries on releases (see {@link ReactiveReleaseRepositoryImpl}).
+ */
+public interface ReactiveReleaseRepositoryCustom {
+
+    /**
+     * Count, version sum and latest updatedAt of all releases, read from the updatedAt_id_version index.
+     */
+    Mono<VersionStamp> findVersionStamp();
+
+    /**
+     * Tasks of a developer written after the given position, ordered by (task updatedAt, task id).
+     * Read from releases rather than task_view, so changes are visible without projection lag.
+     *
+     * @param after keyset position, all tasks of the developer when null
+     */
+    Flux<TaskView> findTaskChangesForDeveloper(String developerId, KeysetCursor after, int limit);
+
+    /**
+     * Whether a live or archived release holds the task, read from the tasks_id / taskIds indexes.
+     */
+    Mono<Boolean> existsTask(String taskId);
+}
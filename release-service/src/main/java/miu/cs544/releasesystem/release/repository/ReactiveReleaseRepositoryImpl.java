@@ -0,0 +1,88 @@
+package miu.cs544.releasesystem.release.repository;
+
+import lombok.RequiredArgsConstructor;
+import miu.cs544.releasesystem.release.domain.Release;
+import miu.cs544.releasesystem.release.domain.TaskView;
+import miu.cs544.releasesystem.release.dto.KeysetCursor;
+import miu.cs544.releasesystem.release.dto.VersionStamp;
+import org.bson.Document;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Date;
+import java.util.List;
+
+@RequiredArgsConstructor
+public class ReactiveReleaseRepositoryImpl implements ReactiveReleaseRepositoryCustom {
+
+    private static final String ARCHIVE = "release_archive";
+
+    // Output shape of findTaskChangesForDeveloper: one TaskView per unwound task
+    private static final Document TASK_VIEW_PROJECTION = new Document("_id", "$tasks._id")
+            .append("releaseId", new Document("$toString", "$_id"))
+            .append("releaseName", "$name")
+            .append("title", "$tasks.title")
+            .append("description", "$tasks.description")
+            .append("status", "$tasks.status")
+            .append("assignedDeveloperId", "$tasks.assignedDeveloperId")
+            .append("orderIndex", "$tasks.orderIndex")
+            .append("createdAt", "$tasks.createdAt")
+            .append("startedAt", "$tasks.startedAt")
+            .append("completedAt", "$tasks.completedAt")
+            .append("updatedAt", "$tasks.updatedAt")
+            .append("commentCount", new Document("$ifNull", List.of("$tasks.commentCount", 0)))
+            .append("releaseVersion", "$version");
+
+    private final ReactiveMongoTemplate reactiveMongoTemplate;
+
+    @Override
+    public Mono<VersionStamp> findVersionStamp() {
+        // Not hinted: indexes are created after startup, and a hint on a missing index fails the query
+        Aggregation aggregation = Aggregation.newAggregation(
+                        Aggregation.project("updatedAt", "version"),
+                        Aggregation.group()
+                                .count().as("count")
+                                .sum("version").as("versionSum")
+                                .max("updatedAt").as("lastModified"));
+        return reactiveMongoTemplate.aggregate(aggregation, Release.class, VersionStamp.class)
+                .next()
+                .defaultIfEmpty(VersionStamp.EMPTY);
+    }
+
+    @Override
+    public Flux<TaskView> findTaskChangesForDeveloper(String developerId, KeysetCursor after, int limit) {
+        // Releases holding a matching task, via the tasks_developer_updatedAt index
+        Criteria element = Criteria.where("assignedDeveloperId").is(developerId);
+        if (after != null) element = element.and("updatedAt").gte(Date.from(after.getTimestamp()));
+
+        // Same condition on the unwound tasks, plus the exact keyset position
+        Criteria task = Criteria.where("tasks.assignedDeveloperId").is(developerId);
+        if (after != null) {
+            Date timestamp = Date.from(after.getTimestamp());
+            task = task.orOperator(
+                    Criteria.where("tasks.updatedAt").gt(timestamp),
+                    Criteria.where("tasks.updatedAt").is(timestamp).and("tasks._id").gt(after.getId()));
+        }
+        Aggregation aggregation = Aggregation.newAggregation(
+                Aggregation.match(Criteria.where("tasks").elemMatch(element)),
+                Aggregation.unwind("tasks"),
+                Aggregation.match(task),
+                Aggregation.sort(Sort.by(Sort.Direction.ASC, "tasks.updatedAt", "tasks._id")),
+                Aggregation.limit(limit),
+                context -> new Document("$project", TASK_VIEW_PROJECTION));
+        return reactiveMongoTemplate.aggregate(aggregation, "releases", TaskView.class);
+    }
+
+    @Override
+    public Mono<Boolean> existsTask(String taskId) {
+        return reactiveMongoTemplate.exists(Query.query(Criteria.where("tasks._id").is(taskId)), Release.class)
+                .flatMap(live -> live
+                        ? Mono.just(true)
+                        : reactiveMongoTemplate.exists(Query.query(Criteria.where("taskIds").is(taskId)), ARCHIVE));
+    }
+}
@@ -0,0 +1,12 @@
+package miu.cs544.releasesystem.release.repository;
+
+import miu.cs544.releasesystem.release.domain.TaskView;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Non-blocking reads of the task_view read model for GET /tasks/my.
+ */
+@Repository
+public interface ReactiveTaskViewRepository extends ReactiveMongoRepository<TaskView, String>, ReactiveTaskViewRepositoryCustom {
+}
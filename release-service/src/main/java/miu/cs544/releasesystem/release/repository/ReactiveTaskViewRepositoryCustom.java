@@ -0,0 +1,30 @@
+package miu.cs544.releasesystem.release.repository;
+
+import miu.cs544.releasesystem.release.domain.TaskStatus;
+import miu.cs544.releasesystem.release.domain.TaskView;
+import miu.cs544.releasesystem.release.dto.KeysetCursor;
+import miu.cs544.releasesystem.release.dto.VersionStamp;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+
+/**
+ * Keyset queries on task_view (see {@link ReactiveTaskViewRepositoryImpl}).
+ */
+public interface ReactiveTaskViewRepositoryCustom {
+
+    /**
+     * Tasks assigned to a developer, ordered by (createdAt, id) and starting after the given cursor.
+     *
+     * @param statuses optional status filter, all statuses when null or empty
+     * @param after    keyset cursor, first page when null
+     */
+    Flux<TaskView> findPageForDeveloper(String developerId, Collection<TaskStatus> statuses, KeysetCursor after, int limit);
+
+    /**
+     * Count, release version sum and latest projection time of a developer's tasks, read from the
+     * developer_projectedAt_releaseVersion index.
+     */
+    Mono<VersionStamp> findVersionStamp(String developerId);
+}
@@ -0,0 +1,51 @@
+package miu.cs544.releasesystem.release.repository;
+
+import lombok.RequiredArgsConstructor;
+import miu.cs544.releasesystem.release.domain.TaskStatus;
+import miu.cs544.releasesystem.release.domain.TaskView;
+import miu.cs544.releasesystem.release.dto.KeysetCursor;
+import miu.cs544.releasesystem.release.dto.VersionStamp;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+
+@RequiredArgsConstructor
+public class ReactiveTaskViewRepositoryImpl implements ReactiveTaskViewRepositoryCustom {
+
+    private final ReactiveMongoTemplate reactiveMongoTemplate;
+
+    @Override
+    public Flux<TaskView> findPageForDeveloper(String developerId, Collection<TaskStatus> statuses, KeysetCursor after, int limit) {
+        Criteria criteria = Criteria.where("assignedDeveloperId").is(developerId);
+        if (statuses != null && !statuses.isEmpty()) criteria = criteria.and("status").in(statuses);
+        if (after != null) {
+            criteria = criteria.orOperator(
+                    Criteria.where("createdAt").gt(after.getTimestamp()),
+                    Criteria.where("createdAt").is(after.getTimestamp()).and("_id").gt(after.getId()));
+        }
+        Query query = Query.query(criteria)
+                .with(Sort.by(Sort.Direction.ASC, "createdAt", "_id"))
+                .limit(limit);
+        return reactiveMongoTemplate.find(query, TaskView.class);
+    }
+
+    @Override
+    public Mono<VersionStamp> findVersionStamp(String developerId) {
+        Aggregation aggregation = Aggregation.newAggregation(
+                        Aggregation.match(Criteria.where("assignedDeveloperId").is(developerId)),
+                        Aggregation.project("projectedAt", "releaseVersion"),
+                        Aggregation.group()
+                                .count().as("count")
+                                .sum("releaseVersion").as("versionSum")
+                                .max("projectedAt").as("lastModified"));
+        return reactiveMongoTemplate.aggregate(aggregation, TaskView.class, VersionStamp.class)
+                .next()
+                .defaultIfEmpty(VersionStamp.EMPTY);
+    }
+}
@@ -5,15 +5,17 @@ import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.data.mongodb.repository.Query;
 import org.springframework.stereotype.Repository;
 
-import java.util.List;
-
 @Repository
-public interface ReleaseRepository extends MongoRepository<Release, String> {
+public interface ReleaseRepository extends MongoRepository<Release, String>, ReleaseRepositoryCustom {
     // Find releases that contain a specific task ID
     @Query("{ 'tasks._id': ?0 }")
     Release findByTaskId(String taskId);
 
-    // Find if a developer has any IN_PROCESS task across all releases
-    @Query("{ 'tasks': { $elemMatch: { 'assignedDeveloperId': ?0, 'status': 'IN_PROCESS' } } }")
-    List<Release> findReleasesWithActiveTaskForDeveloper(String developerId);
+    // Only the id of the release containing a task (release cache task index)
+    @Query(value = "{ 'tasks._id': ?0 }", fields = "{ '_id': 1 }")
+    Release findIdByTaskId(String taskId);
+
+    // Whether a task is currently IN_PROCESS (developer slot repair)
+    @Query(value = "{ 'tasks': { $elemMatch: { '_id': ?0, 'status': 'IN_PROCESS' } } }", exists = true)
+    boolean isTaskInProcess(String taskId);
 }
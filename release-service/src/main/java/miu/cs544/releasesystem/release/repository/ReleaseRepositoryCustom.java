@@ -0,0 +1,79 @@
+package miu.cs544.releasesystem.release.repository;
+
+import miu.cs544.releasesystem.release.domain.Release;
+import miu.cs544.releasesystem.release.domain.ReleaseStatus;
+import miu.cs544.releasesystem.release.domain.Task;
+import miu.cs544.releasesystem.release.domain.TaskStatus;
+import miu.cs544.releasesystem.release.domain.TaskView;
+import miu.cs544.releasesystem.release.dto.KeysetCursor;
+import miu.cs544.releasesystem.release.dto.ReleaseSummary;
+import org.springframework.data.domain.Sort;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Targeted updates on the embedded task array (see {@link ReleaseRepositoryImpl}).
+ * Each one is a single findAndModify whose filter carries the preconditions the caller checked,
+ * so a concurrent change makes it match nothing (null) instead of being overwritten.
+ * All of them bump updatedAt and the release version, and updatedAt of the tasks they touch.
+ */
+public interface ReleaseRepositoryCustom {
+
+    /**
+     * One page of release summaries (task counts per status, comment count) computed server-side,
+     * ordered by (sortField, _id) and continuing after the given cursor.
+     *
+     * @param sortField createdAt or updatedAt
+     */
+    List<ReleaseSummary> findSummaries(Collection<ReleaseStatus> statuses, String sortField, Sort.Direction direction,
+                                       KeysetCursor after, int limit);
+
+    /**
+     * IN_PROCESS tasks, found through the tasks_status_startedAt index and unwound server-side; only id,
+     * release, title, developer and startedAt are filled in.
+     *
+     * @param startedBefore only tasks started before this instant, all when null
+     * @param taskIds       only these tasks, all when null
+     */
+    List<TaskView> findInProcessTasks(Instant startedBefore, Collection<String> taskIds);
+
+    /**
+     * Increments the denormalized comment count of a task with a positional $inc.
+     *
+     * @return the release id and the matched task only (tasks.$ projection), or null if no release holds the task
+     */
+    Release incrementCommentCount(String taskId);
+
+    /**
+     * Appends tasks (one $push $each) to a release that is still in the expected status. Reopens the
+     * release as a hotfix when that status is COMPLETED.
+     *
+     * @return the updated release, or null if it is gone or its status changed meanwhile
+     */
+    Release pushTasks(String releaseId, ReleaseStatus expectedStatus, List<Task> tasks, Instant now);
+
+    /**
+     * Moves a task to IN_PROCESS if it is still assigned to the developer, still in the expected status
+     * and, when previousTaskId is given, that task is still COMPLETED.
+     *
+     * @return the release id, version and the started task only, or null if a precondition no longer holds
+     */
+    Release startTask(String releaseId, String taskId, String developerId, TaskStatus expectedStatus,
+                      String previousTaskId, Instant now);
+
+    /**
+     * Moves a task assigned to the developer to COMPLETED.
+     *
+     * @return the release id and the task as it was before the update, or null if no such task
+     */
+    Release completeTask(String taskId, String developerId, Instant now);
+
+    /**
+     * Marks a release COMPLETED if every task in it is COMPLETED.
+     *
+     * @return the updated release, or null if it is gone, already COMPLETED or has an unfinished task
+     */
+    Release completeRelease(String releaseId, Instant now);
+}
@@ -0,0 +1,169 @@
+package miu.cs544.releasesystem.release.repository;
+
+import lombok.RequiredArgsConstructor;
+import miu.cs544.releasesystem.release.domain.Release;
+import miu.cs544.releasesystem.release.domain.ReleaseStatus;
+import miu.cs544.releasesystem.release.domain.Task;
+import miu.cs544.releasesystem.release.domain.TaskStatus;
+import miu.cs544.releasesystem.release.domain.TaskView;
+import miu.cs544.releasesystem.release.dto.KeysetCursor;
+import miu.cs544.releasesystem.release.dto.ReleaseSummary;
+import org.bson.Document;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.TypedAggregation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+
+@RequiredArgsConstructor
+public class ReleaseRepositoryImpl implements ReleaseRepositoryCustom {
+
+    private static final String VERSION = "version";
+    private static final Document TASKS = new Document("$ifNull", List.of("$tasks", List.of()));
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public List<ReleaseSummary> findSummaries(Collection<ReleaseStatus> statuses, String sortField, Sort.Direction direction,
+                                              KeysetCursor after, int limit) {
+        Criteria criteria = new Criteria();
+        if (statuses != null && !statuses.isEmpty()) criteria = criteria.and("status").in(statuses);
+        if (after != null) {
+            boolean asc = direction == Sort.Direction.ASC;
+            criteria = criteria.orOperator(
+                    asc ? Criteria.where(sortField).gt(after.getTimestamp()) : Criteria.where(sortField).lt(after.getTimestamp()),
+                    asc ? Criteria.where(sortField).is(after.getTimestamp()).and("_id").gt(after.getId())
+                            : Criteria.where(sortField).is(after.getTimestamp()).and("_id").lt(after.getId()));
+        }
+        // Counts are computed after $limit, so only the documents of the page are processed
+        TypedAggregation<Release> aggregation = Aggregation.newAggregation(Release.class,
+                Aggregation.match(criteria),
+                Aggregation.sort(Sort.by(direction, sortField, "id")),
+                Aggregation.limit(limit),
+                Aggregation.project("name", "description", "status", "reopened", "hotfixCount", "reopenedAt", "createdAt", "updatedAt")
+                        .and(context -> new Document("$size", TASKS)).as("taskCount")
+                        .and(context -> countWithStatus(TaskStatus.TODO)).as("todoCount")
+                        .and(context -> countWithStatus(TaskStatus.IN_PROCESS)).as("inProcessCount")
+                        .and(context -> countWithStatus(TaskStatus.COMPLETED)).as("completedCount")
+                        .and(context -> new Document("$sum", "$tasks.commentCount")).as("commentCount"));
+        return mongoTemplate.aggregate(aggregation, ReleaseSummary.class).getMappedResults();
+    }
+
+    private static Document countWithStatus(TaskStatus status) {
+        return new Document("$size", new Document("$filter", new Document("input", TASKS)
+                .append("cond", new Document("$eq", List.of("$$this.status", status.name())))));
+    }
+
+    @Override
+    public List<TaskView> findInProcessTasks(Instant startedBefore, Collection<String> taskIds) {
+        Criteria element = Criteria.where("status").is(TaskStatus.IN_PROCESS.name());
+        Criteria task = Criteria.where("tasks.status").is(TaskStatus.IN_PROCESS.name());
+        if (startedBefore != null) {
+            element = element.and("startedAt").lt(Date.from(startedBefore));
+            task = task.and("tasks.startedAt").lt(Date.from(startedBefore));
+        }
+        if (taskIds != null) {
+            element = element.and("_id").in(taskIds);
+            task = task.and("tasks._id").in(taskIds);
+        }
+        Aggregation aggregation = Aggregation.newAggregation(
+                Aggregation.match(Criteria.where("tasks").elemMatch(element)),
+                Aggregation.unwind("tasks"),
+                Aggregation.match(task),
+                context -> new Document("$project", new Document("_id", "$tasks._id")
+                        .append("releaseId", new Document("$toString", "$_id"))
+                        .append("releaseName", "$name")
+                        .append("title", "$tasks.title")
+                        .append("status", "$tasks.status")
+                        .append("assignedDeveloperId", "$tasks.assignedDeveloperId")
+                        .append("startedAt", "$tasks.startedAt")));
+        return mongoTemplate.aggregate(aggregation, "releases", TaskView.class).getMappedResults();
+    }
+
+    @Override
+    public Release incrementCommentCount(String taskId) {
+        Query query = Query.query(Criteria.where("tasks._id").is(taskId));
+        query.fields().include("_id").position("tasks", 1);
+        Instant now = Instant.now();
+        Update update = new Update().inc("tasks.$.commentCount", 1).set("tasks.$.updatedAt", now)
+                .set("updatedAt", now).inc(VERSION, 1);
+        return mongoTemplate.findAndModify(query, update, FindAndModifyOptions.options().returnNew(true), Release.class);
+    }
+
+    @Override
+    public Release pushTasks(String releaseId, ReleaseStatus expectedStatus, List<Task> tasks, Instant now) {
+        Query query = Query.query(Criteria.where("_id").is(releaseId).and("status").is(expectedStatus));
+        Update update = new Update().set("updatedAt", now).inc(VERSION, 1);
+        tasks.forEach(task -> task.setUpdatedAt(now));
+        update.push("tasks").each(tasks.toArray());
+        if (expectedStatus == ReleaseStatus.COMPLETED) {
+            update.set("status", ReleaseStatus.IN_PROGRESS)
+                    .set("reopened", true)
+                    .inc("hotfixCount", 1)
+                    .set("reopenedAt", now)
+                    .unset("completedAt");
+        }
+        return mongoTemplate.findAndModify(query, update, FindAndModifyOptions.options().returnNew(true), Release.class);
+    }
+
+    @Override
+    public Release startTask(String releaseId, String taskId, String developerId, TaskStatus expectedStatus,
+                             String previousTaskId, Instant now) {
+        Criteria criteria = Criteria.where("_id").is(releaseId);
+        Criteria target = Criteria.where("tasks").elemMatch(Criteria.where("_id").is(taskId)
+                .and("assignedDeveloperId").is(developerId)
+                .and("status").is(expectedStatus));
+        if (previousTaskId != null) {
+            criteria.andOperator(target, Criteria.where("tasks").elemMatch(
+                    Criteria.where("_id").is(previousTaskId).and("status").is(TaskStatus.COMPLETED)));
+        } else {
+            criteria.andOperator(target);
+        }
+        Query query = Query.query(criteria);
+        query.fields().include("_id").include(VERSION).elemMatch("tasks", Criteria.where("_id").is(taskId));
+
+        Update update = new Update()
+                .set("tasks.$[t].status", TaskStatus.IN_PROCESS)
+                .set("tasks.$[t].startedAt", now)
+                .set("tasks.$[t].updatedAt", now)
+                .set("updatedAt", now)
+                .inc(VERSION, 1)
+                .filterArray(Criteria.where("t._id").is(taskId));
+        return mongoTemplate.findAndModify(query, update, FindAndModifyOptions.options().returnNew(true), Release.class);
+    }
+
+    @Override
+    public Release completeTask(String taskId, String developerId, Instant now) {
+        Query query = Query.query(Criteria.where("tasks").elemMatch(
+                Criteria.where("_id").is(taskId).and("assignedDeveloperId").is(developerId)));
+        query.fields().include("_id").position("tasks", 1);
+
+        Update update = new Update()
+                .set("tasks.$[t].status", TaskStatus.COMPLETED)
+                .set("tasks.$[t].completedAt", now)
+                .set("tasks.$[t].updatedAt", now)
+                .set("updatedAt", now)
+                .inc(VERSION, 1)
+                .filterArray(Criteria.where("t._id").is(taskId));
+        // Old image: the caller needs the status the task had before this transition
+        return mongoTemplate.findAndModify(query, update, FindAndModifyOptions.options().returnNew(false), Release.class);
+    }
+
+    @Override
+    public Release completeRelease(String releaseId, Instant now) {
+        Query query = Query.query(Criteria.where("_id").is(releaseId)
+                .and("status").ne(ReleaseStatus.COMPLETED)
+                .and("tasks").not().elemMatch(Criteria.where("status").ne(TaskStatus.COMPLETED)));
+        Update update = new Update().set("status", ReleaseStatus.COMPLETED).set("completedAt", now)
+                .set("updatedAt", now).inc(VERSION, 1);
+        return mongoTemplate.findAndModify(query, update, FindAndModifyOptions.options().returnNew(true), Release.class);
+    }
+}
@@ -0,0 +1,17 @@
+package miu.cs544.releasesystem.release.repository;
+
+import miu.cs544.releasesystem.release.domain.StaleAlert;
+
+import java.util.Collection;
+import java.util.Set;
+
+public interface StaleAlertRepositoryCustom {
+
+    /**
+     * Upserts the alerts in one unordered bulk write. An alert last recorded under the same lease
+     * with a higher token is left alone: its node took the partition over from this one.
+     *
+     * @return the task ids whose alert was written
+     */
+    Set<String> saveFenced(Collection<StaleAlert> alerts);
+}
@@ -0,0 +1,54 @@
+package miu.cs544.releasesystem.release.repository;
+
+import com.mongodb.bulk.BulkWriteError;
+import lombok.RequiredArgsConstructor;
+import miu.cs544.releasesystem.release.domain.StaleAlert;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+@RequiredArgsConstructor
+public class StaleAlertRepositoryImpl implements StaleAlertRepositoryCustom {
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public Set<String> saveFenced(Collection<StaleAlert> alerts) {
+        if (alerts.isEmpty()) return Set.of();
+        List<StaleAlert> ordered = new ArrayList<>(alerts);
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, StaleAlert.class);
+        for (StaleAlert alert : ordered) {
+            Query query = Query.query(Criteria.where("_id").is(alert.getTaskId()).orOperator(
+                    Criteria.where("lease").ne(alert.getLease()),
+                    Criteria.where("token").lte(alert.getToken())));
+            bulk.upsert(query, new Update()
+                    .set("startedAt", alert.getStartedAt())
+                    .set("level", alert.getLevel())
+                    .set("lastNotifiedAt", alert.getLastNotifiedAt())
+                    .set("nextNotifyAt", alert.getNextNotifyAt())
+                    .set("expireAt", alert.getExpireAt())
+                    .set("lease", alert.getLease())
+                    .set("token", alert.getToken()));
+        }
+        Set<String> written = new LinkedHashSet<>();
+        ordered.forEach(a -> written.add(a.getTaskId()));
+        try {
+            bulk.execute();
+        } catch (BulkOperationException e) {
+            // A fenced-off alert exists, so its upsert collides with it on _id
+            for (BulkWriteError error : e.getErrors()) {
+                written.remove(ordered.get(error.getIndex()).getTaskId());
+            }
+        }
+        return written;
+    }
+}
@@ -0,0 +1,9 @@
+package miu.cs544.releasesystem.release.repository;
+
+import miu.cs544.releasesystem.release.domain.TaskView;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface TaskViewRepository extends MongoRepository<TaskView, String>, TaskViewRepositoryCustom {
+}
@@ -0,0 +1,25 @@
+package miu.cs544.releasesystem.release.repository;
+
+import miu.cs544.releasesystem.release.domain.Release;
+
+import java.util.Set;
+
+/**
+ * Projection writes and scheduler queries on task_view (see {@link TaskViewRepositoryImpl}).
+ * Request-path reads go through {@link ReactiveTaskViewRepository}.
+ */
+public interface TaskViewRepositoryCustom {
+
+    /**
+     * Distinct developers that currently have an IN_PROCESS task.
+     */
+    Set<String> findDevelopersWithActiveTask();
+
+    /**
+     * Replaces the views of one release with its current tasks in a single bulk write.
+     * Views already projected from the same or a newer release version are left untouched.
+     */
+    void project(Release release);
+
+    void deleteByReleaseId(String releaseId);
+}
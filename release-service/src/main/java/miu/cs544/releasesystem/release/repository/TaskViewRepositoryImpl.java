@@ -0,0 +1,69 @@
+package miu.cs544.releasesystem.release.repository;
+
+import com.mongodb.bulk.BulkWriteError;
+import lombok.RequiredArgsConstructor;
+import miu.cs544.releasesystem.release.domain.Release;
+import miu.cs544.releasesystem.release.domain.Task;
+import miu.cs544.releasesystem.release.domain.TaskStatus;
+import miu.cs544.releasesystem.release.domain.TaskView;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndReplaceOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+@RequiredArgsConstructor
+public class TaskViewRepositoryImpl implements TaskViewRepositoryCustom {
+
+    private static final int DUPLICATE_KEY = 11000;
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public Set<String> findDevelopersWithActiveTask() {
+        Query query = Query.query(Criteria.where("status").is(TaskStatus.IN_PROCESS));
+        return new HashSet<>(mongoTemplate.findDistinct(query, "assignedDeveloperId", TaskView.class, String.class));
+    }
+
+    @Override
+    public void project(Release release) {
+        List<Task> tasks = release.getTasks();
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, TaskView.class);
+        for (Task task : tasks) {
+            bulk.replaceOne(Query.query(olderThan(release, Criteria.where("_id").is(task.getId()))),
+                    TaskView.of(release, task), FindAndReplaceOptions.options().upsert());
+        }
+        // Tasks are never moved between releases, but drop any view the release no longer holds
+        bulk.remove(Query.query(olderThan(release, Criteria.where("releaseId").is(release.getId())
+                .and("_id").nin(tasks.stream().map(Task::getId).toList()))));
+        try {
+            bulk.execute();
+        } catch (BulkOperationException e) {
+            // A view projected from the same or a newer version exists, so its upsert collides with it on _id
+            for (BulkWriteError error : e.getErrors()) {
+                if (error.getCode() != DUPLICATE_KEY) throw e;
+            }
+        }
+    }
+
+    /**
+     * Narrows a write to views projected from an older version of the release, so a release
+     * delivered late (poll overlapping the change stream, a lease handover) cannot roll them back.
+     */
+    private static Criteria olderThan(Release release, Criteria criteria) {
+        if (release.getVersion() == null) return criteria;
+        return criteria.orOperator(
+                Criteria.where("releaseVersion").lt(release.getVersion()),
+                Criteria.where("releaseVersion").exists(false));
+    }
+
+    @Override
+    public void deleteByReleaseId(String releaseId) {
+        mongoTemplate.remove(Query.query(Criteria.where("releaseId").is(releaseId)), TaskView.class);
+    }
+}
@@ -4,10 +4,15 @@ import miu.cs544.releasesystem.release.domain.User;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface UserRepository extends MongoRepository<User, String> {
     // Return the first matching user to avoid exceptions when multiple docs exist with the same username
     Optional<User> findFirstByUsername(String username);
+
+    // Batch lookup (one $in query) for bulk task import and stale task alerts
+    List<User> findByUsernameIn(Collection<String> usernames);
 }
@@ -0,0 +1,91 @@
+package miu.cs544.releasesystem.release.scheduler;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Health probe of one dependency, bounded by a hard deadline. The check runs on its own thread; a
+ * check that is still blocked when the next probe starts counts as a timeout and is not started
+ * twice, so a hung dependency holds at most one thread.
+ * <p>
+ * Exports health_probe_duration{dependency, outcome} as a histogram and health_circuit_state
+ * {dependency}: 0 closed (healthy), 1 half-open (first success after a failure), 2 open (failing).
+ */
+public class DependencyProbe {
+
+    public enum CircuitState { CLOSED, HALF_OPEN, OPEN }
+
+    private final String dependency;
+    private final Runnable check;
+    private final Duration timeout;
+    private final Executor executor;
+    private final MeterRegistry meterRegistry;
+
+    private volatile CompletableFuture<Void> inFlight;
+    private volatile CircuitState state = CircuitState.CLOSED;
+
+    public DependencyProbe(String dependency, Runnable check, Duration timeout, Executor executor, MeterRegistry meterRegistry) {
+        this.dependency = dependency;
+        this.check = check;
+        this.timeout = timeout;
+        this.executor = executor;
+        this.meterRegistry = meterRegistry;
+        Gauge.builder("health_circuit_state", this, p -> p.state.ordinal())
+                .tag("dependency", dependency)
+                .description("0 closed, 1 half-open, 2 open")
+                .strongReference(true)
+                .register(meterRegistry);
+    }
+
+    public CircuitState getState() {
+        return state;
+    }
+
+    /**
+     * Starts the check. The returned future completes within the timeout, with null when the
+     * dependency is healthy and with the failure otherwise; it never completes exceptionally.
+     */
+    public CompletableFuture<Throwable> probe() {
+        CompletableFuture<Void> previous = inFlight;
+        if (previous != null && !previous.isDone()) {
+            TimeoutException stuck = new TimeoutException(dependency + " probe still blocked since an earlier run");
+            record("timeout", 0, stuck);
+            return CompletableFuture.completedFuture(stuck);
+        }
+        long start = System.nanoTime();
+        CompletableFuture<Void> call = CompletableFuture.runAsync(check, executor);
+        inFlight = call;
+        // orTimeout on a copy: the call itself stays incomplete while its thread is blocked
+        return call.copy().orTimeout(timeout.toMillis(), TimeUnit.MILLISECONDS).handle((ok, e) -> {
+            Throwable failure = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+            String outcome = failure == null ? "success" : failure instanceof TimeoutException ? "timeout" : "failure";
+            if (failure instanceof TimeoutException) {
+                failure = new TimeoutException(dependency + " did not answer within " + timeout.toMillis() + " ms");
+            }
+            record(outcome, System.nanoTime() - start, failure);
+            return failure;
+        });
+    }
+
+    private void record(String outcome, long nanos, Throwable failure) {
+        Timer.builder("health_probe_duration")
+                .tag("dependency", dependency)
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(nanos, TimeUnit.NANOSECONDS);
+        if (failure != null) {
+            state = CircuitState.OPEN;
+        } else if (state != CircuitState.CLOSED) {
+            state = state == CircuitState.OPEN ? CircuitState.HALF_OPEN : CircuitState.CLOSED;
+        }
+    }
+}
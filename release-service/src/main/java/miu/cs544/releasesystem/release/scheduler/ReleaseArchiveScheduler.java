@@ -0,0 +1,55 @@
+package miu.cs544.releasesystem.release.scheduler;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import miu.cs544.releasesystem.release.config.SchedulingConfig;
+import miu.cs544.releasesystem.release.service.LeaseService;
+import miu.cs544.releasesystem.release.service.ReleaseArchiveService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Periodically moves releases completed more than release.archive.after-days ago to the cold tier,
+ * a batch at a time, so the releases collection only holds the active working set. Runs on the node
+ * holding the release-archive lease, which is renewed between batches.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+@Profile("!test")
+public class ReleaseArchiveScheduler {
+
+    private static final String LEASE = "release-archive";
+    private static final Duration LEASE_TTL = Duration.ofMinutes(10);
+
+    private final ReleaseArchiveService releaseArchiveService;
+    private final LeaseService leaseService;
+
+    @Value("${release.archive.enabled:false}")
+    private boolean enabled;
+
+    @Value("${release.archive.after-days:30}")
+    private long afterDays;
+
+    @Value("${release.archive.batch-size:100}")
+    private int batchSize;
+
+    @Scheduled(initialDelayString = "${release.archive.initial-delay-ms:60000}",
+            fixedDelayString = "${release.archive.interval-ms:3600000}", scheduler = SchedulingConfig.MAINTENANCE)
+    public void archiveCompletedReleases() {
+        if (!enabled || leaseService.acquire(LEASE, LEASE_TTL).isEmpty()) return;
+        Instant cutoff = Instant.now().minus(Duration.ofDays(afterDays));
+        int total = 0;
+        int archived;
+        do {
+            archived = releaseArchiveService.archiveCompletedBefore(cutoff, batchSize);
+            total += archived;
+        } while (archived == batchSize && leaseService.acquire(LEASE, LEASE_TTL).isPresent());
+        if (total > 0) log.info("Archived {} releases completed before {}", total, cutoff);
+    }
+}
@@ -1,21 +1,38 @@
 package miu.cs544.releasesystem.release.scheduler;
 
-import miu.cs544.releasesystem.release.domain.Release;
-import miu.cs544.releasesystem.release.domain.TaskStatus;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import miu.cs544.releasesystem.release.config.SchedulingConfig;
+import miu.cs544.releasesystem.release.domain.StaleAlert;
+import miu.cs544.releasesystem.release.domain.TaskView;
 import miu.cs544.releasesystem.release.domain.User;
 import miu.cs544.releasesystem.release.event.StaleTaskDetectedEvent;
 import miu.cs544.releasesystem.release.repository.ReleaseRepository;
 import miu.cs544.releasesystem.release.repository.UserRepository;
 import miu.cs544.releasesystem.release.service.KafkaProducerService;
+import miu.cs544.releasesystem.release.service.LeaseService;
+import miu.cs544.releasesystem.release.service.StaleAlertService;
+import miu.cs544.releasesystem.release.service.StaleTaskTracker;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Profile;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
 import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @Component
 @RequiredArgsConstructor
@@ -26,39 +43,99 @@ public class StaleTaskScheduler {
     private final ReleaseRepository releaseRepository;
     private final UserRepository userRepository;
     private final KafkaProducerService kafkaProducerService;
+    private final StaleTaskTracker staleTaskTracker;
+    private final LeaseService leaseService;
+    private final StaleAlertService staleAlertService;
+    private final MeterRegistry meterRegistry;
 
-    // Run every hour
-    @Scheduled(fixedRate = 3600000)
+    // Tasks of partitions held by another node are looked at again after this long
+    @Value("${release.stale.recheck-interval-ms:3600000}")
+    private long recheckIntervalMs;
+
+    @Value("${release.stale.partitions:8}")
+    private int partitions;
+
+    private static final String LEASE = "stale-tasks";
+
+    private Timer scanTimer;
+    private Timer runTimer;
+    private Counter staleTasksCounter;
+
+    @PostConstruct
+    public void initMetrics() {
+        // scan: the indexed query alone; run: query, email lookup and publishing (ticks with due tasks only)
+        this.scanTimer = Timer.builder("stale_task_scan_duration").tag("phase", "scan").register(meterRegistry);
+        this.runTimer = Timer.builder("stale_task_scan_duration").tag("phase", "run").register(meterRegistry);
+        this.staleTasksCounter = meterRegistry.counter("stale_tasks_detected_total");
+    }
+
+    // The wheel is advanced every tick; only tasks whose deadline just passed reach MongoDB
+    @Scheduled(fixedDelayString = "${release.stale.tick-ms:1000}", scheduler = SchedulingConfig.STALE_TASKS)
     public void detectStaleTasks() {
-        log.info("Running Stale Task Detection...");
+        List<String> due = staleTaskTracker.expire(Instant.now());
+        if (due.isEmpty()) return;
+        runTimer.record(() -> detect(due));
+    }
+
+    private void detect(List<String> due) {
         Instant now = Instant.now();
-        Instant threshold = now.minus(Duration.ofHours(48));
-
-        // Finding tasks is tricky with embedded docs if we want to be efficient.
-        // For prototype, fetching all IN_PROGRESS releases is okay.
-        List<Release> releases = releaseRepository.findAll();
-
-        for (Release release : releases) {
-            release.getTasks().stream()
-                    .filter(t -> t.getStatus() == TaskStatus.IN_PROCESS)
-                    .filter(t -> t.getStartedAt() != null && t.getStartedAt().isBefore(threshold))
-                    .forEach(t -> {
-                        log.warn("Stale task detected: {}", t.getId());
-                        
-                        Duration duration = Duration.between(t.getStartedAt(), now);
-                        String durationStr = duration.toHours() + "h";
-
-                        String developerEmail = userRepository.findFirstByUsername(t.getAssignedDeveloperId())
-                                .map(User::getEmail)
-                                .orElse(null);
-
-                        kafkaProducerService.sendStaleTaskDetectedEvent(new StaleTaskDetectedEvent(
-                                t.getId(),
-                                t.getAssignedDeveloperId(),
-                                developerEmail,
-                                durationStr
-                        ));
-                    });
+        Instant threshold = now.minus(staleTaskTracker.getThreshold());
+
+        // Every node tracks every task; each one only reports the partitions it holds a lease for
+        Set<Integer> owned = leaseService.acquirePartitions(LEASE, partitions);
+        Map<Boolean, List<String>> byOwner = due.stream()
+                .collect(Collectors.partitioningBy(id -> owned.contains(LeaseService.partitionOf(id, partitions))));
+        byOwner.get(false).forEach(id -> staleTaskTracker.remindAt(id, now.plusMillis(recheckIntervalMs)));
+        List<String> mine = byOwner.get(true);
+        if (mine.isEmpty()) return;
+
+        // Deadlines may be outdated (completed or restarted on another replica): re-check the due tasks only
+        List<TaskView> staleTasks = scanTimer.record(() -> releaseRepository.findInProcessTasks(threshold, mine));
+        if (staleTasks.isEmpty()) return;
+
+        // Alert state of all of them in one query; only tasks due for a (re-)notification are reported
+        Map<String, StaleAlert> previous = staleAlertService.findByTaskIds(staleTasks.stream().map(TaskView::getId).toList());
+        Map<String, TaskView> toNotify = new LinkedHashMap<>();
+        List<StaleAlert> alerts = new ArrayList<>();
+        for (TaskView task : staleTasks) {
+            StaleAlert alert = previous.get(task.getId());
+            Instant dueAt = staleAlertService.dueAt(alert, task, now);
+            // A node paused past its lease (GC, slow queries) must not report partitions another node took over
+            Optional<LeaseService.Lease> lease = leaseService.held(LEASE + ":" + LeaseService.partitionOf(task.getId(), partitions));
+            if (dueAt.isAfter(now) || lease.isEmpty()) {
+                staleTaskTracker.remindAt(task.getId(), dueAt.isAfter(now) ? dueAt : now.plusMillis(recheckIntervalMs));
+                continue;
+            }
+            StaleAlert next = staleAlertService.escalate(alert, task, lease.get(), now);
+            staleTaskTracker.remindAt(task.getId(), next.getNextNotifyAt());
+            alerts.add(next);
+            toNotify.put(task.getId(), task);
         }
+        toNotify.keySet().retainAll(staleAlertService.record(alerts));
+        if (toNotify.isEmpty()) return;
+        staleTasksCounter.increment(toNotify.size());
+        log.warn("Stale tasks detected: {}", toNotify.keySet());
+
+        // One $in query for all developers instead of one lookup per task
+        Set<String> developerIds = toNotify.values().stream()
+                .map(TaskView::getAssignedDeveloperId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<String, String> developerEmails = new HashMap<>();
+        for (User user : userRepository.findByUsernameIn(developerIds)) {
+            if (user.getEmail() != null) developerEmails.putIfAbsent(user.getUsername(), user.getEmail());
+        }
+
+        Map<String, Integer> levels = new HashMap<>();
+        alerts.forEach(a -> levels.put(a.getTaskId(), a.getLevel()));
+        List<StaleTaskDetectedEvent> events = toNotify.values().stream()
+                .map(t -> new StaleTaskDetectedEvent(
+                        t.getId(),
+                        t.getAssignedDeveloperId(),
+                        developerEmails.get(t.getAssignedDeveloperId()),
+                        Duration.between(t.getStartedAt(), now).toHours() + "h",
+                        levels.get(t.getId())))
+                .toList();
+        kafkaProducerService.sendStaleTaskDetectedEvents(events);
     }
 }
@@ -1,20 +1,36 @@
 package miu.cs544.releasesystem.release.scheduler;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import miu.cs544.releasesystem.release.config.KafkaTopicConfig;
+import miu.cs544.releasesystem.release.config.SchedulingConfig;
 import miu.cs544.releasesystem.release.event.SystemErrorEvent;
 import miu.cs544.releasesystem.release.service.KafkaProducerService;
+import miu.cs544.releasesystem.release.service.LeaseService;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.mongodb.core.MongoTemplate;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.context.annotation.Profile;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
 import java.time.Instant;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Monitors system health (MongoDB, Kafka) and publishes SystemErrorEvent when failures are detected.
  * Notification Service consumes these events and alerts admin via email.
+ * Every node probes, but only the node holding the system-health lease reports, so an outage is
+ * reported once. Both probes and the lease check run in parallel and are bounded by
+ * release.health.probe-timeout-ms.
  */
 @Component
 @RequiredArgsConstructor
@@ -25,44 +41,76 @@ public class SystemHealthMonitor {
     private final MongoTemplate mongoTemplate;
     private final KafkaTemplate<String, Object> kafkaTemplate;
     private final KafkaProducerService kafkaProducerService;
+    private final LeaseService leaseService;
+    private final MeterRegistry meterRegistry;
 
-    @Scheduled(fixedRate = 60000) // Every minute
+    private static final String LEASE = "system-health";
+    // Outlives a missed run, so leadership does not move between nodes every minute
+    private static final Duration LEASE_TTL = Duration.ofMinutes(3);
+    private static final Document PING = new Document("ping", 1);
+
+    @Value("${release.health.probe-timeout-ms:5000}")
+    private long probeTimeoutMs;
+
+    // A blocked check holds its thread until the driver gives up; virtual threads make that cheap
+    private final ExecutorService probeExecutor =
+            Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("health-probe-", 0).factory());
+    private DependencyProbe mongoProbe;
+    private DependencyProbe kafkaProbe;
+    private volatile CompletableFuture<Boolean> leaseCheck;
+
+    @PostConstruct
+    public void initProbes() {
+        Duration timeout = Duration.ofMillis(probeTimeoutMs);
+        mongoProbe = new DependencyProbe("mongodb", () -> mongoTemplate.getDb().runCommand(PING), timeout, probeExecutor, meterRegistry);
+        // partitionsFor blocks up to max.block.ms while the brokers are unreachable
+        kafkaProbe = new DependencyProbe("kafka", () -> kafkaTemplate.partitionsFor(KafkaTopicConfig.TASK_EVENTS), timeout, probeExecutor, meterRegistry);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        probeExecutor.shutdownNow();
+    }
+
+    @Scheduled(fixedRateString = "${release.health.interval-ms:60000}", scheduler = SchedulingConfig.HEALTH)
     public void checkHealth() {
-        checkMongoDb();
-        checkKafka();
+        CompletableFuture<Boolean> leader = checkLease();
+        CompletableFuture<Throwable> mongo = mongoProbe.probe();
+        CompletableFuture<Throwable> kafka = kafkaProbe.probe();
+        Throwable mongoFailure = mongo.join();
+        Throwable kafkaFailure = kafka.join();
+        if (!leader.join()) return;
+        report("MONGODB_DOWN", "Database connection failure: ", mongoFailure);
+        report("KAFKA_DOWN", "Kafka connection failure: ", kafkaFailure);
     }
 
-    private void checkMongoDb() {
-        try {
-            mongoTemplate.getDb().runCommand(org.bson.Document.parse("{ ping: 1 }"));
-        } catch (Exception e) {
-            log.error("MongoDB health check failed", e);
-            try {
-                kafkaProducerService.sendSystemErrorEvent(new SystemErrorEvent(
-                    "MONGODB_DOWN",
-                    "Database connection failure: " + e.getMessage(),
-                    Instant.now()
-                ));
-            } catch (Exception ex) {
-                log.warn("Could not send MongoDB failure alert", ex);
-            }
+    /**
+     * The lease lives in the MongoDB being probed, so acquiring it can block for the driver's whole
+     * server selection timeout. Past the probe deadline this node keeps the lease it last held.
+     */
+    private CompletableFuture<Boolean> checkLease() {
+        CompletableFuture<Boolean> check = leaseCheck;
+        // Like a probe, a lease check still blocked since an earlier run is not started twice
+        if (check == null || check.isDone()) {
+            check = CompletableFuture.supplyAsync(() -> leaseService.isLeader(LEASE, LEASE_TTL), probeExecutor);
+            leaseCheck = check;
         }
+        return check.copy()
+                .completeOnTimeout(null, probeTimeoutMs, TimeUnit.MILLISECONDS)
+                .handle((leader, e) -> leader != null ? leader : e == null && leaseService.held(LEASE).isPresent());
     }
 
-    private void checkKafka() {
+    private void report(String errorType, String message, Throwable failure) {
+        if (failure == null) return;
+        log.error("{} health check failed: {}", errorType, failure.getMessage());
         try {
-            kafkaTemplate.partitionsFor("task-events");
-        } catch (Exception e) {
-            log.error("Kafka health check failed", e);
-            try {
-                kafkaProducerService.sendSystemErrorEvent(new SystemErrorEvent(
-                    "KAFKA_DOWN",
-                    "Kafka connection failure: " + e.getMessage(),
-                    Instant.now()
-                ));
-            } catch (Exception ex) {
-                log.warn("Could not send Kafka failure alert (Kafka may be down)", ex);
-            }
+            kafkaProducerService.sendSystemErrorEvent(new SystemErrorEvent(
+                errorType,
+                message + failure.getMessage(),
+                Instant.now()
+            ));
+        } catch (Exception ex) {
+            log.warn("Could not send {} alert", errorType, ex);
         }
     }
 }
@@ -0,0 +1,132 @@
+package miu.cs544.releasesystem.release.scheduler;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Hashed timing wheel: deadlines are hashed into wheelSize buckets of tick each, so scheduling and
+ * cancelling are O(1) and advancing the clock only visits the buckets of the elapsed ticks. A deadline
+ * more than one revolution away stays in its bucket and is skipped until its tick comes around.
+ * At most one deadline per key; scheduling a key again replaces it.
+ * <p>
+ * Guarded by a ReentrantLock rather than synchronized so callers on virtual threads do not pin
+ * their carrier.
+ */
+public class TimingWheel<K> {
+
+    private final long tickMs;
+    private final List<Set<K>> buckets;
+    private final Map<K, Long> deadlineTicks = new HashMap<>();
+    private final ReentrantLock lock = new ReentrantLock();
+    private long currentTick;
+
+    public TimingWheel(Duration tick, int wheelSize, Instant start) {
+        this.tickMs = tick.toMillis();
+        this.buckets = new ArrayList<>(wheelSize);
+        for (int i = 0; i < wheelSize; i++) buckets.add(new HashSet<>());
+        this.currentTick = toTick(start);
+    }
+
+    public void schedule(K key, Instant deadline) {
+        lock.lock();
+        try {
+            remove(key);
+            // Deadlines in the past fire on the next advance
+            long tick = Math.max(toTick(deadline), currentTick + 1);
+            deadlineTicks.put(key, tick);
+            bucket(tick).add(key);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return false if the key already had a deadline, which is kept
+     */
+    public boolean scheduleIfAbsent(K key, Instant deadline) {
+        lock.lock();
+        try {
+            if (deadlineTicks.containsKey(key)) return false;
+            schedule(key, deadline);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void cancel(K key) {
+        lock.lock();
+        try {
+            remove(key);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Moves the clock to now and removes the keys whose deadline has passed.
+     */
+    public List<K> advance(Instant now) {
+        List<K> expired = new ArrayList<>();
+        lock.lock();
+        try {
+            long target = toTick(now);
+            // After a pause longer than a revolution every bucket is due once; no need to spin
+            long from = Math.max(currentTick + 1, target - buckets.size() + 1);
+            for (long tick = from; tick <= target; tick++) {
+                Iterator<K> keys = bucket(tick).iterator();
+                while (keys.hasNext()) {
+                    K key = keys.next();
+                    if (deadlineTicks.get(key) <= target) {
+                        keys.remove();
+                        deadlineTicks.remove(key);
+                        expired.add(key);
+                    }
+                }
+            }
+            currentTick = Math.max(currentTick, target);
+        } finally {
+            lock.unlock();
+        }
+        return expired;
+    }
+
+    public Set<K> keys() {
+        lock.lock();
+        try {
+            return new HashSet<>(deadlineTicks.keySet());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int size() {
+        lock.lock();
+        try {
+            return deadlineTicks.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void remove(K key) {
+        Long tick = deadlineTicks.remove(key);
+        if (tick != null) bucket(tick).remove(key);
+    }
+
+    private Set<K> bucket(long tick) {
+        return buckets.get((int) Math.floorMod(tick, (long) buckets.size()));
+    }
+
+    private long toTick(Instant instant) {
+        return Math.floorDiv(instant.toEpochMilli(), tickMs);
+    }
+}
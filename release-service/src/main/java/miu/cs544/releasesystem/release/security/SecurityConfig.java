@@ -1,5 +1,6 @@
 package miu.cs544.releasesystem.release.security;
 
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -36,8 +37,12 @@ public class SecurityConfig {
                         .authenticationEntryPoint(new HttpStatusEntryPoint(HttpStatus.UNAUTHORIZED))
                 )
                 .authorizeHttpRequests(auth -> auth
+                        // Mono/Flux and streaming responses complete on an ASYNC dispatch; the original
+                        // request was already authorized and the stateless JWT context is not replayed
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                         .requestMatchers("/auth/**", "/actuator/**", "/error").permitAll() // Allow auth & monitoring
                         .requestMatchers("/releases/**").hasRole("ADMIN") // Only Admin can manage releases
+                        .requestMatchers("/analytics/**").hasRole("ADMIN")
                         .requestMatchers("/tasks/**", "/comments/**").hasAnyRole("DEVELOPER", "ADMIN")
                         .anyRequest().authenticated()
                 )
@@ -0,0 +1,91 @@
+package miu.cs544.releasesystem.release.service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import miu.cs544.releasesystem.release.config.SchedulingConfig;
+import miu.cs544.releasesystem.release.repository.TaskViewRepository;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps the set of developers with an IN_PROCESS task in memory so the active_developers_count
+ * gauge is O(1) per scrape. Updated on startTask/completeTask and periodically reconciled
+ * against the task_view read model to repair drift (other replicas, restarts, manual data changes).
+ * <p>
+ * Every start and completion is stamped from a local sequence. A reconciliation only overrides
+ * developers whose last change precedes its query, so it cannot undo a start or completion that
+ * happened while the query ran.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ActiveDeveloperTracker {
+
+    private final TaskViewRepository taskViewRepository;
+    private final MeterRegistry meterRegistry;
+
+    private final AtomicLong sequence = new AtomicLong();
+    // developer -> stamp of the start that made them active
+    private final Map<String, Long> activeDevelopers = new ConcurrentHashMap<>();
+    // developer -> stamp of their last completion; cleared by the next reconciliation
+    private final Map<String, Long> completions = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void registerGauge() {
+        Gauge.builder("active_developers_count", activeDevelopers, Map::size)
+                .description("Number of developers with an IN_PROCESS task")
+                .strongReference(true)
+                .register(meterRegistry);
+    }
+
+    public void onTaskStarted(String developerId) {
+        if (developerId != null) activeDevelopers.put(developerId, sequence.incrementAndGet());
+    }
+
+    public void onTaskCompleted(String developerId) {
+        if (developerId == null) return;
+        completions.put(developerId, sequence.incrementAndGet());
+        activeDevelopers.remove(developerId);
+    }
+
+    public int getActiveDeveloperCount() {
+        return activeDevelopers.size();
+    }
+
+    @Scheduled(initialDelayString = "${release.metrics.active-developers.initial-delay-ms:5000}",
+            fixedDelayString = "${release.metrics.active-developers.reconcile-interval-ms:900000}", scheduler = SchedulingConfig.MAINTENANCE)
+    public void reconcile() {
+        try {
+            long queriedAt = sequence.incrementAndGet();
+            Set<String> actual = taskViewRepository.findDevelopersWithActiveTask();
+            int before = activeDevelopers.size();
+            // Conditional on the stamp: a developer who starts again meanwhile is kept
+            activeDevelopers.entrySet().removeIf(e -> e.getValue() < queriedAt && !actual.contains(e.getKey()));
+            for (String developerId : actual) {
+                if (completedSince(developerId, queriedAt)) continue;
+                if (activeDevelopers.putIfAbsent(developerId, queriedAt) == null && completedSince(developerId, queriedAt)) {
+                    activeDevelopers.remove(developerId, queriedAt); // completed while being added
+                }
+            }
+            completions.values().removeIf(stamp -> stamp < queriedAt);
+            if (before != activeDevelopers.size()) {
+                log.info("Reconciled active developers: {} -> {}", before, activeDevelopers.size());
+            }
+        } catch (Exception e) {
+            log.warn("Active developer reconciliation failed: {}", e.getMessage());
+        }
+    }
+
+    private boolean completedSince(String developerId, long stamp) {
+        Long completedAt = completions.get(developerId);
+        return completedAt != null && completedAt > stamp;
+    }
+}
@@ -0,0 +1,197 @@
+package miu.cs544.releasesystem.release.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import miu.cs544.releasesystem.release.domain.AnalyticsRollup;
+import miu.cs544.releasesystem.release.domain.Task;
+import miu.cs544.releasesystem.release.domain.TaskStatus;
+import miu.cs544.releasesystem.release.repository.AnalyticsRollupRepository;
+import org.bson.types.ObjectId;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Service;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Delivery analytics (cycle time, lead time, throughput, hotfix rate) per release, per developer and
+ * per day. ReleaseService reports every transition here and the matching rollups are bumped with one
+ * bulk $inc, so reads are single-document (or one small range) lookups instead of scans of releases.
+ * A failed rollup update never fails the transition; rebuild() recomputes them from releases and
+ * release_archive.
+ * <p>
+ * tasksStarted counts tasks that have been started, on the day of their latest start, which is what
+ * the rebuild can read back from Task.startedAt: a restart moves the task to its new day.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class AnalyticsService {
+
+    private static final Map<String, Long> STARTED = Map.of("tasksStarted", 1L);
+    private static final Map<String, Long> UNSTARTED = Map.of("tasksStarted", -1L);
+    private static final String REBUILD_COLLECTION_PREFIX = "analytics_rebuild_";
+
+    private final AnalyticsRollupRepository analyticsRollupRepository;
+    private final ReleaseArchiveService releaseArchiveService;
+    private final MongoTemplate mongoTemplate;
+    private final MeterRegistry meterRegistry;
+
+    private Counter failedUpdates;
+
+    @PostConstruct
+    public void initMetrics() {
+        failedUpdates = meterRegistry.counter("analytics_rollup_update_failures_total");
+    }
+
+    public void onTasksAdded(String releaseId, List<Task> tasks, boolean hotfix, Instant now) {
+        Map<String, Map<String, Long>> deltas = new HashMap<>();
+        Map<String, Long> added = new HashMap<>(Map.of("tasksCreated", (long) tasks.size()));
+        if (hotfix) added.put("hotfixes", 1L);
+        deltas.put(AnalyticsRollup.id(AnalyticsRollup.RELEASE, releaseId), added);
+        deltas.put(AnalyticsRollup.id(AnalyticsRollup.DAY, day(now)), added);
+        for (Task task : tasks) {
+            if (task.getAssignedDeveloperId() == null) continue;
+            deltas.computeIfAbsent(AnalyticsRollup.id(AnalyticsRollup.DEVELOPER, task.getAssignedDeveloperId()), k -> new HashMap<>())
+                    .merge("tasksCreated", 1L, Long::sum);
+        }
+        apply(deltas, now);
+    }
+
+    /**
+     * @param previousStartedAt when the task was started before, null on its first start
+     */
+    public void onTaskStarted(String releaseId, String developerId, Instant previousStartedAt, Instant now) {
+        if (previousStartedAt != null) {
+            String previousDay = day(previousStartedAt);
+            if (previousDay.equals(day(now))) return;
+            apply(Map.of(
+                    AnalyticsRollup.id(AnalyticsRollup.DAY, previousDay), UNSTARTED,
+                    AnalyticsRollup.id(AnalyticsRollup.DAY, day(now)), STARTED), now);
+            return;
+        }
+        apply(Map.of(
+                AnalyticsRollup.id(AnalyticsRollup.RELEASE, releaseId), STARTED,
+                AnalyticsRollup.id(AnalyticsRollup.DEVELOPER, developerId), STARTED,
+                AnalyticsRollup.id(AnalyticsRollup.DAY, day(now)), STARTED), now);
+    }
+
+    /**
+     * @param before the task as it was before the transition; re-completions are not counted
+     */
+    public void onTaskCompleted(String releaseId, Task before, Instant now) {
+        if (before.getStatus() == TaskStatus.COMPLETED) return;
+        Map<String, Long> completed = new HashMap<>(Map.of("tasksCompleted", 1L));
+        if (before.getCreatedAt() != null) {
+            completed.put("leadTimeMsSum", Duration.between(before.getCreatedAt(), now).toMillis());
+        }
+        if (before.getStartedAt() != null) {
+            completed.put("completedWithStart", 1L);
+            completed.put("cycleTimeMsSum", Duration.between(before.getStartedAt(), now).toMillis());
+        }
+        Map<String, Map<String, Long>> deltas = new HashMap<>();
+        deltas.put(AnalyticsRollup.id(AnalyticsRollup.RELEASE, releaseId), completed);
+        deltas.put(AnalyticsRollup.id(AnalyticsRollup.DAY, day(now)), completed);
+        if (before.getAssignedDeveloperId() != null) {
+            deltas.put(AnalyticsRollup.id(AnalyticsRollup.DEVELOPER, before.getAssignedDeveloperId()), completed);
+        }
+        apply(deltas, now);
+    }
+
+    public void onReleaseCompleted(String releaseId, Instant now) {
+        Map<String, Long> completed = Map.of("releasesCompleted", 1L);
+        apply(Map.of(
+                AnalyticsRollup.id(AnalyticsRollup.RELEASE, releaseId), completed,
+                AnalyticsRollup.id(AnalyticsRollup.DAY, day(now)), completed), now);
+    }
+
+    private void apply(Map<String, Map<String, Long>> deltas, Instant now) {
+        try {
+            analyticsRollupRepository.increment(deltas, now);
+        } catch (Exception e) {
+            failedUpdates.increment();
+            log.warn("Failed to update analytics rollups {}: {}", deltas.keySet(), e.getMessage());
+        }
+    }
+
+    public AnalyticsRollup getReleaseAnalytics(String releaseId) {
+        return analyticsRollupRepository.findById(AnalyticsRollup.id(AnalyticsRollup.RELEASE, releaseId))
+                .orElseThrow(() -> new RuntimeException("No analytics for release " + releaseId));
+    }
+
+    public List<AnalyticsRollup> getRecentReleaseAnalytics(int limit) {
+        return analyticsRollupRepository.findByDimension(AnalyticsRollup.RELEASE,
+                PageRequest.of(0, limit, Sort.by(Sort.Direction.DESC, "updatedAt")));
+    }
+
+    public List<AnalyticsRollup> getDeveloperAnalytics(int limit) {
+        return analyticsRollupRepository.findByDimension(AnalyticsRollup.DEVELOPER,
+                PageRequest.of(0, limit, Sort.by(Sort.Direction.ASC, "key")));
+    }
+
+    /**
+     * Daily rollups between two dates (inclusive), summed into week (starting Monday) or month buckets
+     * when asked. Bucket keys are the first day of the bucket.
+     */
+    public List<AnalyticsRollup> getTimeline(LocalDate from, LocalDate to, String granularity) {
+        if (!List.of("day", "week", "month").contains(granularity)) {
+            throw new RuntimeException("Unsupported granularity '" + granularity + "', expected day, week or month");
+        }
+        Map<String, AnalyticsRollup> buckets = new TreeMap<>();
+        for (AnalyticsRollup daily : analyticsRollupRepository.findByDimensionAndKeyRange(AnalyticsRollup.DAY,
+                from.toString(), to.toString(), Sort.by("key"))) {
+            LocalDate date = LocalDate.parse(daily.getKey());
+            String key = switch (granularity) {
+                case "week" -> date.with(DayOfWeek.MONDAY).toString();
+                case "month" -> date.withDayOfMonth(1).toString();
+                default -> date.toString();
+            };
+            buckets.computeIfAbsent(key, k -> {
+                AnalyticsRollup bucket = new AnalyticsRollup();
+                bucket.setId(AnalyticsRollup.id(granularity, k));
+                bucket.setDimension(granularity);
+                bucket.setKey(k);
+                return bucket;
+            }).add(daily);
+        }
+        return new ArrayList<>(buckets.values());
+    }
+
+    /**
+     * Recomputes the rollups. Archived releases are decompressed into a scratch collection first, so
+     * their history stays in the developer and day rollups. A release archived or rehydrated while
+     * this runs may be missed or counted twice until the next rebuild.
+     */
+    public void rebuild() {
+        long started = System.currentTimeMillis();
+        String archived = REBUILD_COLLECTION_PREFIX + new ObjectId().toHexString();
+        try {
+            int archivedReleases = releaseArchiveService.decodeInto(archived);
+            analyticsRollupRepository.rebuild(archivedReleases > 0 ? archived : null);
+            log.info("Analytics rollups rebuilt in {} ms ({} archived releases)", System.currentTimeMillis() - started, archivedReleases);
+        } finally {
+            mongoTemplate.dropCollection(archived);
+        }
+    }
+
+    public boolean hasRollups() {
+        return analyticsRollupRepository.count() > 0;
+    }
+
+    private static String day(Instant instant) {
+        return LocalDate.ofInstant(instant, ZoneOffset.UTC).toString();
+    }
+}
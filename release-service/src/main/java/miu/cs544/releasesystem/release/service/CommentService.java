@@ -0,0 +1,195 @@
+package miu.cs544.releasesystem.release.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import miu.cs544.releasesystem.release.domain.Comment;
+import miu.cs544.releasesystem.release.domain.Release;
+import miu.cs544.releasesystem.release.domain.Task;
+import miu.cs544.releasesystem.release.dto.CommentPage;
+import miu.cs544.releasesystem.release.dto.KeysetCursor;
+import miu.cs544.releasesystem.release.repository.CommentRepository;
+import miu.cs544.releasesystem.release.repository.ReactiveCommentRepository;
+import miu.cs544.releasesystem.release.repository.ReactiveReleaseRepository;
+import miu.cs544.releasesystem.release.repository.ReleaseRepository;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Threaded task discussions (Reddit-style). Comments are separate documents: adding one is a single
+ * insert plus counter increments, and threads are paged by top-level comment and expanded to a
+ * requested depth instead of being returned as one unbounded tree. Reads are non-blocking.
+ * Commenting on a task of an archived release moves the release back out of the archive first.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class CommentService {
+
+    // Replies expanded per page; replyCount tells the client where to continue with GET /comments/{id}/replies
+    private static final int MAX_EXPANDED_REPLIES = 500;
+
+    private final CommentRepository commentRepository;
+    private final ReactiveCommentRepository reactiveCommentRepository;
+    private final ReleaseRepository releaseRepository;
+    private final ReactiveReleaseRepository reactiveReleaseRepository;
+    private final ActivityStreamService activityStreamService;
+    private final ReleaseCache releaseCache;
+    private final ReleaseArchiveService releaseArchiveService;
+    private final MeterRegistry meterRegistry;
+
+    private Timer aiRequestTimer;
+
+    @PostConstruct
+    public void initMetrics() {
+        this.aiRequestTimer = Timer.builder("ai_request_latency")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    public Comment addComment(String taskId, String developerId, String content) {
+        String releaseId = findReleaseIdByTaskId(taskId);
+        if (releaseId == null) throw new RuntimeException("Task not found");
+
+        Comment comment = new Comment();
+        comment.setReleaseId(releaseId);
+        comment.setTaskId(taskId);
+        comment.setPath(comment.getId());
+        comment.setAuthorId(developerId);
+        comment.setContent(content);
+        comment.setTimestamp(Instant.now());
+        // Insert, then count (as for replies): a counter never runs ahead of the comments it counts
+        commentRepository.insert(comment);
+        Release release = incrementCommentCount(taskId, releaseId);
+        if (release == null) {
+            commentRepository.deleteById(comment.getId()); // the task was removed meanwhile
+            throw new RuntimeException("Task not found");
+        }
+        releaseCache.invalidate(release.getId()); // commentCount changed
+        Task task = release.getTasks().get(0); // tasks.$ projection: only the matched task
+
+        aiRequestTimer.record(() -> activityStreamService.pushEvent("New Comment", "User " + developerId + " commented on " + task.getTitle()));
+        return comment;
+    }
+
+    public Comment addReply(String commentId, String developerId, String content) {
+        Comment parent = commentRepository.findById(commentId)
+                .orElseThrow(() -> new RuntimeException("Comment not found"));
+
+        Comment reply = new Comment().replyTo(parent);
+        reply.setAuthorId(developerId);
+        reply.setContent(content);
+        reply.setTimestamp(Instant.now());
+        commentRepository.insert(reply);
+        commentRepository.incrementReplyCount(parent.getId());
+        Release release = incrementCommentCount(parent.getTaskId(), parent.getReleaseId());
+        if (release != null) releaseCache.invalidate(release.getId());
+
+        aiRequestTimer.record(() -> activityStreamService.pushEvent("New Reply", "User " + developerId + " replied to a comment"));
+        return reply;
+    }
+
+    private String findReleaseIdByTaskId(String taskId) {
+        Release release = releaseCache.findByTaskId(taskId);
+        if (release != null) return release.getId();
+        return releaseArchiveService.findArchivedReleaseIdByTaskId(taskId).orElse(null);
+    }
+
+    // The counter lives on the live document: a release found in the archive is rehydrated once
+    private Release incrementCommentCount(String taskId, String releaseId) {
+        Release release = releaseRepository.incrementCommentCount(taskId);
+        if (release != null) return release;
+        String archivedId = releaseId != null ? releaseId : releaseArchiveService.findArchivedReleaseIdByTaskId(taskId).orElse(null);
+        if (archivedId == null || releaseArchiveService.rehydrate(archivedId).isEmpty()) return null;
+        return releaseRepository.incrementCommentCount(taskId);
+    }
+
+    /**
+     * One page of top-level comments of a task, each expanded to the given reply depth.
+     */
+    public Mono<CommentPage> getThreadPage(String taskId, String cursor, int limit, int depth) {
+        // An unknown task has no comments, so only an empty page needs the existence check
+        return page(taskId, null, KeysetCursor.parse(cursor), limit, depth)
+                .flatMap(page -> !page.getComments().isEmpty()
+                        ? Mono.just(page)
+                        : reactiveReleaseRepository.existsTask(taskId).flatMap(exists -> exists
+                                ? Mono.just(page)
+                                : Mono.error(new RuntimeException("Task not found"))));
+    }
+
+    /**
+     * One page of direct replies of a comment, each expanded to the given depth (lazy expansion).
+     */
+    public Mono<CommentPage> getRepliesPage(String commentId, String cursor, int limit, int depth) {
+        KeysetCursor after = KeysetCursor.parse(cursor);
+        return reactiveCommentRepository.existsById(commentId)
+                .flatMap(exists -> exists
+                        ? page(null, commentId, after, limit, depth)
+                        : Mono.error(new RuntimeException("Comment not found")));
+    }
+
+    /**
+     * Full comment trees of several tasks, keyed by task id (one query for all of them).
+     */
+    public Mono<Map<String, List<Comment>>> getThreadsForTasks(Collection<String> taskIds) {
+        return reactiveCommentRepository.findByTaskIds(taskIds).collectList().map(comments -> {
+            Map<String, List<Comment>> threads = new HashMap<>();
+            for (Comment root : assemble(comments)) {
+                threads.computeIfAbsent(root.getTaskId(), k -> new ArrayList<>()).add(root);
+            }
+            return threads;
+        });
+    }
+
+    private Mono<CommentPage> page(String taskId, String parentId, KeysetCursor after, int limit, int depth) {
+        return reactiveCommentRepository.findChildrenPage(taskId, parentId, after, limit).collectList()
+                .flatMap(level -> {
+                    if (level.isEmpty() || depth <= 0) return Mono.just(level);
+                    int maxDepth = level.get(0).getDepth() + depth;
+                    List<String> ids = level.stream().map(Comment::getId).toList();
+                    return reactiveCommentRepository.findDescendants(ids, maxDepth, MAX_EXPANDED_REPLIES)
+                            .collectList()
+                            .map(descendants -> {
+                                List<Comment> all = new ArrayList<>(level);
+                                all.addAll(descendants);
+                                return assemble(all);
+                            });
+                })
+                .map(level -> {
+                    String nextCursor = null;
+                    if (level.size() == limit) {
+                        Comment last = level.get(level.size() - 1);
+                        nextCursor = new KeysetCursor(last.getTimestamp(), last.getId()).encode();
+                    }
+                    return new CommentPage(level, nextCursor);
+                });
+    }
+
+    /**
+     * Links comments to their parents; returns those whose parent is not in the list, in input order.
+     */
+    private List<Comment> assemble(List<Comment> comments) {
+        Map<String, Comment> byId = new LinkedHashMap<>();
+        comments.forEach(c -> byId.put(c.getId(), c));
+        List<Comment> roots = new ArrayList<>();
+        for (Comment c : byId.values()) {
+            Comment parent = c.getParentId() != null ? byId.get(c.getParentId()) : null;
+            if (parent != null) {
+                parent.getReplies().add(c);
+            } else {
+                roots.add(c);
+            }
+        }
+        return roots;
+    }
+}
@@ -0,0 +1,76 @@
+package miu.cs544.releasesystem.release.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import miu.cs544.releasesystem.release.domain.DeveloperSlot;
+import miu.cs544.releasesystem.release.repository.ReleaseRepository;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Enforces "one IN_PROCESS task per developer" with one keyed write: starting a task inserts the
+ * developer's slot (duplicate key = already busy), completing it deletes the slot.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class DeveloperSlotService {
+
+    // A claim younger than this may belong to a start that has not written the task yet
+    private static final Duration CLAIM_GRACE = Duration.ofSeconds(30);
+
+    private final MongoTemplate mongoTemplate;
+    private final ReleaseRepository releaseRepository;
+
+    /**
+     * @return true if the developer now holds the slot for taskId, false if another task holds it
+     */
+    public boolean claim(String developerId, String releaseId, String taskId) {
+        Instant now = Instant.now();
+        try {
+            mongoTemplate.insert(new DeveloperSlot(developerId, releaseId, taskId, now));
+            return true;
+        } catch (DuplicateKeyException e) {
+            return takeOverIfStale(developerId, releaseId, taskId, now);
+        }
+    }
+
+    /**
+     * Frees the slot if it is still held for taskId.
+     */
+    public void release(String developerId, String taskId) {
+        mongoTemplate.remove(Query.query(Criteria.where("_id").is(developerId).and("taskId").is(taskId)), DeveloperSlot.class);
+    }
+
+    /**
+     * Only runs on conflict. A slot whose task is not IN_PROCESS (start failed after claiming, or the
+     * task was completed elsewhere) would otherwise block the developer forever; replace it, guarded
+     * on the observed holder so two takers cannot both win.
+     */
+    private boolean takeOverIfStale(String developerId, String releaseId, String taskId, Instant now) {
+        DeveloperSlot held = mongoTemplate.findById(developerId, DeveloperSlot.class);
+        if (held == null) {
+            return claim(developerId, releaseId, taskId); // released meanwhile
+        }
+        if (held.getClaimedAt() != null && held.getClaimedAt().isAfter(now.minus(CLAIM_GRACE))) {
+            return false;
+        }
+        if (releaseRepository.isTaskInProcess(held.getTaskId())) {
+            return false;
+        }
+        Query query = Query.query(Criteria.where("_id").is(developerId)
+                .and("taskId").is(held.getTaskId())
+                .and("claimedAt").is(held.getClaimedAt()));
+        Update update = new Update().set("releaseId", releaseId).set("taskId", taskId).set("claimedAt", now);
+        boolean taken = mongoTemplate.updateFirst(query, update, DeveloperSlot.class).getModifiedCount() > 0;
+        if (taken) log.info("Reclaimed stale slot of developer {} (task {})", developerId, held.getTaskId());
+        return taken;
+    }
+}
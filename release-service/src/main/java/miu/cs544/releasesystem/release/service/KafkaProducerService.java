@@ -3,58 +3,134 @@ package miu.cs544.releasesystem.release.service;
 import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import miu.cs544.releasesystem.release.config.ConcurrencyConfig;
+import miu.cs544.releasesystem.release.config.KafkaTopicConfig;
+import miu.cs544.releasesystem.release.event.HotfixTaskAddedEvent;
+import miu.cs544.releasesystem.release.event.StaleTaskDetectedEvent;
+import miu.cs544.releasesystem.release.event.SystemErrorEvent;
+import miu.cs544.releasesystem.release.event.TaskAssignedEvent;
+import miu.cs544.releasesystem.release.event.TaskCompletedEvent;
+import miu.cs544.releasesystem.release.exception.BulkheadFullException;
+import org.apache.kafka.clients.producer.ProducerRecord;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+/**
+ * Publishes the events consumed by the notification service. Records are keyed by the entity they
+ * concern (the developer notified, else the release), so one entity's events stay in order on one
+ * partition while different entities spread over all of them. The event type travels in the
+ * eventType header.
+ * <p>
+ * Events are sent after the state change they describe is committed, so a full Kafka bulkhead
+ * drops the event (logged and counted in kafka_events_dropped_total) instead of failing the caller.
+ * A permit is held until the broker acknowledges the send.
+ */
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class KafkaProducerService {
 
+    public static final String EVENT_TYPE_HEADER = "eventType";
+
     private final KafkaTemplate<String, Object> kafkaTemplate;
     private final MeterRegistry meterRegistry;
+    private final ConcurrencyConfig.Bulkheads bulkheads;
+
+    private void recordKafkaMetric(String topic, String type) {
+        meterRegistry.counter("kafka_events_total", "topic", topic, "type", type).increment();
+    }
+
+    private ProducerRecord<String, Object> record(String topic, String type, String key, Object event) {
+        ProducerRecord<String, Object> record = new ProducerRecord<>(topic, key, event);
+        record.headers().add(EVENT_TYPE_HEADER, type.getBytes(StandardCharsets.UTF_8));
+        return record;
+    }
+
+    private void recordDropped(String topic, String type, int count, BulkheadFullException e) {
+        meterRegistry.counter("kafka_events_dropped_total", "topic", topic, "type", type).increment(count);
+        log.warn("Dropped {} {} events for {}: {}", count, type, topic, e.getMessage());
+    }
+
+    private void send(String topic, String type, String key, Object event) {
+        try {
+            bulkheads.kafka().callAsync(() -> kafkaTemplate.send(record(topic, type, key, event)));
+            recordKafkaMetric(topic, type);
+        } catch (BulkheadFullException e) {
+            recordDropped(topic, type, 1, e);
+        }
+    }
 
-    private void recordKafkaMetric(String topic, String key) {
-        meterRegistry.counter("kafka_events_total", "topic", topic, "key", key).increment();
+    /**
+     * Hands all events to the producer before waiting once, so they are coalesced into a few
+     * produce requests instead of paying a round trip each.
+     */
+    private <T> void sendBatch(String topic, String type, List<T> events, Function<T, String> key) {
+        try {
+            bulkheads.kafka().callAsync(() -> {
+                CompletableFuture<?>[] sent = events.stream()
+                        .map(event -> kafkaTemplate.send(record(topic, type, key.apply(event), event)))
+                        .toArray(CompletableFuture[]::new);
+                if (events.size() > 1) kafkaTemplate.flush();
+                return CompletableFuture.allOf(sent);
+            });
+        } catch (BulkheadFullException e) {
+            recordDropped(topic, type, events.size(), e);
+            return;
+        }
+        meterRegistry.counter("kafka_events_total", "topic", topic, "type", type).increment(events.size());
+        log.info("Sent {} {} events to {}", events.size(), type, topic);
     }
 
-    public void sendTaskAssignedEvent(Object event) {
-        String topic = "task-events";
-        String key = "assigned";
-        kafkaTemplate.send(topic, key, event);
-        recordKafkaMetric(topic, key);
+    // The developer notified; unassigned tasks fall back to their release
+    private static String entityKey(String developerId, String releaseId) {
+        return developerId != null ? developerId : releaseId;
+    }
+
+    public void sendTaskAssignedEvent(TaskAssignedEvent event) {
+        send(KafkaTopicConfig.TASK_EVENTS, "assigned", entityKey(event.getDeveloperId(), event.getReleaseId()), event);
         log.info("Sent TaskAssignedEvent: {}", event);
     }
 
-    public void sendTaskCompletedEvent(Object event) {
-        String topic = "task-events";
-        String key = "completed";
-        kafkaTemplate.send(topic, key, event);
-        recordKafkaMetric(topic, key);
+    public void sendTaskAssignedEvents(List<TaskAssignedEvent> events) {
+        sendBatch(KafkaTopicConfig.TASK_EVENTS, "assigned", events, e -> entityKey(e.getDeveloperId(), e.getReleaseId()));
+    }
+
+    public void sendTaskCompletedEvent(TaskCompletedEvent event) {
+        send(KafkaTopicConfig.TASK_EVENTS, "completed", entityKey(event.getDeveloperId(), event.getReleaseId()), event);
         log.info("Sent TaskCompletedEvent: {}", event);
     }
 
-    public void sendHotfixTaskAddedEvent(Object event) {
-        String topic = "task-events";
-        String key = "hotfix";
-        kafkaTemplate.send(topic, key, event);
-        recordKafkaMetric(topic, key);
+    public void sendHotfixTaskAddedEvent(HotfixTaskAddedEvent event) {
+        send(KafkaTopicConfig.TASK_EVENTS, "hotfix", entityKey(event.getDeveloperId(), event.getReleaseId()), event);
         log.info("Sent HotfixTaskAddedEvent: {}", event);
     }
 
-    public void sendStaleTaskDetectedEvent(Object event) {
-        String topic = "task-events";
-        String key = "stale";
-        kafkaTemplate.send(topic, key, event);
-        recordKafkaMetric(topic, key);
+    public void sendHotfixTaskAddedEvents(List<HotfixTaskAddedEvent> events) {
+        sendBatch(KafkaTopicConfig.TASK_EVENTS, "hotfix", events, e -> entityKey(e.getDeveloperId(), e.getReleaseId()));
+    }
+
+    public void sendStaleTaskDetectedEvent(StaleTaskDetectedEvent event) {
+        send(KafkaTopicConfig.TASK_EVENTS, "stale", entityKey(event.getDeveloperId(), event.getTaskId()), event);
         log.info("Sent StaleTaskDetectedEvent: {}", event);
     }
 
-    public void sendSystemErrorEvent(Object event) {
-        String topic = "system-events";
-        String key = "error";
-        kafkaTemplate.send(topic, key, event);
-        recordKafkaMetric(topic, key);
+    public void sendStaleTaskDetectedEvents(List<StaleTaskDetectedEvent> events) {
+        sendBatch(KafkaTopicConfig.TASK_EVENTS, "stale", events, e -> entityKey(e.getDeveloperId(), e.getTaskId()));
+    }
+
+    public void sendReleaseInvalidatedEvent(String releaseId, Object event) {
+        send(KafkaTopicConfig.RELEASE_CACHE_EVENTS, "invalidated", releaseId, event);
+        log.debug("Sent ReleaseInvalidatedEvent: {}", event);
+    }
+
+    public void sendSystemErrorEvent(SystemErrorEvent event) {
+        // Keyed by error code: occurrences of one failure stay in order
+        send(KafkaTopicConfig.SYSTEM_EVENTS, "error", event.getErrorCode(), event);
         log.info("Sent SystemErrorEvent: {}", event);
     }
 }
@@ -0,0 +1,273 @@
+package miu.cs544.releasesystem.release.service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import miu.cs544.releasesystem.release.config.SchedulingConfig;
+import miu.cs544.releasesystem.release.domain.SchedulerLease;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.net.InetAddress;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * Cluster-wide leases for the background jobs, so that each one runs on a single release-service node.
+ * <p>
+ * A lease is one document in scheduler_leases: taking it over is a single upsert guarded on
+ * "expired" (duplicate key = held by a live node), renewing it is guarded on owner and token. The
+ * token grows with every change of owner; a holder stops acting once its lease may have expired
+ * ({@link Lease#isValid}) and writes to MongoDB made under a lease can be fenced on the token.
+ * <p>
+ * Large jobs are split into partitions, each with its own lease. Nodes heartbeat into the same
+ * collection and every partition is assigned to one live node by rendezvous hashing, so partitions
+ * only move when a node joins or leaves; a node gives up the partitions it is no longer assigned.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class LeaseService {
+
+    private static final String NODE_PREFIX = "node:";
+    // Leases are considered lost this long before they expire, to absorb clock skew between nodes
+    private static final Duration CLOCK_SKEW = Duration.ofSeconds(2);
+
+    private final MongoTemplate mongoTemplate;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${release.lease.ttl-ms:30000}")
+    private long ttlMs;
+
+    private final String nodeId = hostname() + "-" + UUID.randomUUID().toString().substring(0, 8);
+    private final Map<String, Lease> held = new ConcurrentHashMap<>();
+    private final Map<String, Instant> retryAfter = new ConcurrentHashMap<>();
+    private volatile List<String> liveNodes = List.of(nodeId);
+
+    /**
+     * A lease held by this node. The token is the fencing token of this tenure.
+     */
+    public record Lease(String name, long token, Instant expiresAt) {
+        public boolean isValid(Instant now) {
+            return now.isBefore(expiresAt.minus(CLOCK_SKEW));
+        }
+    }
+
+    @PostConstruct
+    public void initMetrics() {
+        Gauge.builder("scheduler_leases_held", held, Map::size)
+                .description("Job and partition leases held by this node")
+                .strongReference(true)
+                .register(meterRegistry);
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    public Optional<Lease> acquire(String name) {
+        return acquire(name, Duration.ofMillis(ttlMs));
+    }
+
+    /**
+     * Takes or renews the lease. A lease with more than half of its ttl left is returned as is, so
+     * jobs can call this on every run without a write each time.
+     *
+     * @return the lease, or empty when another node holds it
+     */
+    public Optional<Lease> acquire(String name, Duration ttl) {
+        Instant now = Instant.now();
+        Lease current = held.get(name);
+        if (current != null && current.isValid(now) && Duration.between(now, current.expiresAt()).compareTo(ttl.dividedBy(2)) > 0) {
+            return Optional.of(current);
+        }
+        if (current != null && renew(current, now.plus(ttl))) {
+            return Optional.of(held.get(name));
+        }
+        held.remove(name);
+
+        Instant blocked = retryAfter.get(name);
+        if (blocked != null && now.isBefore(blocked)) return Optional.empty();
+        try {
+            SchedulerLease taken = mongoTemplate.findAndModify(
+                    Query.query(Criteria.where("_id").is(name).and("expiresAt").lt(now)),
+                    new Update().set("owner", nodeId).set("acquiredAt", now).set("expiresAt", now.plus(ttl)).inc("token", 1),
+                    FindAndModifyOptions.options().upsert(true).returnNew(true),
+                    SchedulerLease.class);
+            Lease lease = new Lease(name, taken.getToken(), taken.getExpiresAt());
+            held.put(name, lease);
+            retryAfter.remove(name);
+            log.info("Acquired lease {} (token {})", name, lease.token());
+            return Optional.of(lease);
+        } catch (DuplicateKeyException e) {
+            // Held by a live node: it will not expire sooner than a fraction of the ttl
+            retryAfter.put(name, now.plus(ttl.dividedBy(4)));
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Leadership check for a singleton job. While MongoDB is unreachable nobody can take a lease
+     * over, so the last holder keeps acting (this is what lets the health monitor report MongoDB
+     * being down exactly once).
+     */
+    public boolean isLeader(String name, Duration ttl) {
+        try {
+            return acquire(name, ttl).isPresent();
+        } catch (DataAccessException e) {
+            log.debug("Lease store unreachable, {} stays with its last holder: {}", name, e.getMessage());
+            return held.containsKey(name);
+        }
+    }
+
+    /**
+     * @return the lease if this node holds it and it cannot have expired yet (local check)
+     */
+    public Optional<Lease> held(String name) {
+        Lease lease = held.get(name);
+        return lease != null && lease.isValid(Instant.now()) ? Optional.of(lease) : Optional.empty();
+    }
+
+    /**
+     * @return true if the lease is still held with this token, read from MongoDB
+     */
+    public boolean isCurrent(Lease lease) {
+        return mongoTemplate.exists(Query.query(Criteria.where("_id").is(lease.name())
+                .and("owner").is(nodeId)
+                .and("token").is(lease.token())
+                .and("expiresAt").gt(Instant.now())), SchedulerLease.class);
+    }
+
+    /**
+     * Expires the lease at once so another node can take it over without waiting for the ttl.
+     */
+    public void release(String name) {
+        Lease lease = held.remove(name);
+        if (lease == null) return;
+        mongoTemplate.updateFirst(Query.query(Criteria.where("_id").is(name).and("owner").is(nodeId).and("token").is(lease.token())),
+                new Update().set("expiresAt", Instant.EPOCH), SchedulerLease.class);
+    }
+
+    /**
+     * Acquires the partitions of a job assigned to this node and releases the ones it no longer is.
+     *
+     * @return the partitions (0 to partitions - 1) this node holds a valid lease for
+     */
+    public Set<Integer> acquirePartitions(String job, int partitions) {
+        List<String> nodes = liveNodes;
+        Set<Integer> owned = new TreeSet<>();
+        for (int p = 0; p < partitions; p++) {
+            String name = job + ":" + p;
+            if (nodeId.equals(assignee(p, nodes))) {
+                if (acquire(name).isPresent()) owned.add(p);
+            } else if (held.containsKey(name)) {
+                release(name);
+                log.info("Handed over lease {} after a membership change", name);
+            }
+        }
+        return owned;
+    }
+
+    public static int partitionOf(String key, int partitions) {
+        return Math.floorMod(key.hashCode(), partitions);
+    }
+
+    /**
+     * Refreshes this node's heartbeat and the list of live nodes partitions are assigned to.
+     */
+    @Scheduled(fixedDelayString = "${release.lease.heartbeat-ms:10000}", scheduler = SchedulingConfig.LEASES)
+    public void heartbeat() {
+        try {
+            Instant now = Instant.now();
+            mongoTemplate.upsert(Query.query(Criteria.where("_id").is(NODE_PREFIX + nodeId)),
+                    new Update().set("owner", nodeId).set("expiresAt", now.plusMillis(ttlMs)).setOnInsert("acquiredAt", now),
+                    SchedulerLease.class);
+            Query live = Query.query(Criteria.where("_id").regex("^" + Pattern.quote(NODE_PREFIX)).and("expiresAt").gt(now));
+            live.fields().include("owner");
+            List<String> nodes = new ArrayList<>(mongoTemplate.find(live, SchedulerLease.class).stream()
+                    .map(SchedulerLease::getOwner)
+                    .toList());
+            if (!nodes.contains(nodeId)) nodes.add(nodeId);
+            nodes.sort(Comparator.naturalOrder());
+            if (!nodes.equals(liveNodes)) log.info("Scheduler nodes: {}", nodes);
+            liveNodes = List.copyOf(nodes);
+            // Nodes that stopped without deregistering
+            mongoTemplate.remove(Query.query(Criteria.where("_id").regex("^" + Pattern.quote(NODE_PREFIX))
+                    .and("expiresAt").lt(now.minusMillis(10 * ttlMs))), SchedulerLease.class);
+        } catch (Exception e) {
+            log.warn("Scheduler heartbeat failed: {}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        try {
+            List.copyOf(held.keySet()).forEach(this::release);
+            mongoTemplate.remove(Query.query(Criteria.where("_id").is(NODE_PREFIX + nodeId)), SchedulerLease.class);
+        } catch (Exception e) {
+            log.warn("Could not release scheduler leases on shutdown: {}", e.getMessage());
+        }
+    }
+
+    // Rendezvous (highest random weight) hashing: stable under membership changes
+    private static String assignee(int partition, List<String> nodes) {
+        String best = null;
+        long bestWeight = Long.MIN_VALUE;
+        for (String node : nodes) {
+            long weight = mix(node.hashCode() * 31L + partition);
+            if (best == null || weight > bestWeight) {
+                best = node;
+                bestWeight = weight;
+            }
+        }
+        return best;
+    }
+
+    private static long mix(long z) {
+        z = (z ^ (z >>> 33)) * 0xff51afd7ed558ccdL;
+        z = (z ^ (z >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        return z ^ (z >>> 33);
+    }
+
+    private static String hostname() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (Exception e) {
+            return "release-service";
+        }
+    }
+
+    private boolean renew(Lease lease, Instant expiresAt) {
+        boolean renewed = mongoTemplate.updateFirst(Query.query(Criteria.where("_id").is(lease.name())
+                        .and("owner").is(nodeId)
+                        .and("token").is(lease.token())),
+                new Update().set("expiresAt", expiresAt), SchedulerLease.class).getModifiedCount() > 0;
+        if (renewed) {
+            held.put(lease.name(), new Lease(lease.name(), lease.token(), expiresAt));
+        } else {
+            log.warn("Lease {} (token {}) was taken over by another node", lease.name(), lease.token());
+        }
+        return renewed;
+    }
+}
@@ -1,10 +1,12 @@
 package miu.cs544.releasesystem.release.service;
 
+import miu.cs544.releasesystem.release.config.ConcurrencyConfig;
 import miu.cs544.releasesystem.release.domain.ChatMessage;
 import miu.cs544.releasesystem.release.domain.ChatSession;
 import miu.cs544.releasesystem.release.dto.OllamaRequest;
 import miu.cs544.releasesystem.release.dto.OllamaResponse;
 import miu.cs544.releasesystem.release.repository.ChatSessionRepository;
+import miu.cs544.releasesystem.release.repository.ReactiveChatSessionRepository;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
@@ -12,6 +14,8 @@ import org.springframework.beans.factory.annotation.Value;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 import java.time.Instant;
 import java.util.List;
@@ -23,8 +27,10 @@ import java.util.stream.Collectors;
 public class OllamaService {
 
     private final ChatSessionRepository chatSessionRepository;
+    private final ReactiveChatSessionRepository reactiveChatSessionRepository;
     private final WebClient.Builder webClientBuilder;
     private final MeterRegistry meterRegistry;
+    private final ConcurrencyConfig.Bulkheads bulkheads;
 
     @Value("${ollama.url:http://localhost:11434}")
     private String ollamaBaseUrl;
@@ -49,11 +55,18 @@ public class OllamaService {
         return chatSessionRepository.save(session);
     }
 
+    /**
+     * The whole exchange runs inside the Ollama bulkhead: when it is full the caller gets a
+     * BulkheadFullException (503) and the session is left untouched.
+     */
     public ChatMessage sendMessage(String sessionId, String userMessage) {
         Timer.Sample sample = Timer.start(meterRegistry);
         ChatSession session = chatSessionRepository.findById(sessionId)
                 .orElseThrow(() -> new RuntimeException("Session not found"));
+        return bulkheads.ollama().call(() -> converse(session, userMessage, sample));
+    }
 
+    private ChatMessage converse(ChatSession session, String userMessage, Timer.Sample sample) {
         // 1. Save User Message
         session.getMessages().add(new ChatMessage("user", userMessage, Instant.now()));
         chatSessionRepository.save(session);
@@ -70,13 +83,15 @@ public class OllamaService {
             request.setPrompt(fullPrompt);
             request.setStream(false);
 
+            // Blocking for simplicity in this sync method (cheap on a virtual thread); the bulkhead
+            // keeps concurrent generations within what the Ollama instance can serve
             OllamaResponse response = webClientBuilder.build()
                     .post()
                     .uri(getOllamaUrl())
                     .bodyValue(request)
                     .retrieve()
                     .bodyToMono(OllamaResponse.class)
-                    .block(); // Blocking for simplicity in this sync method
+                    .block();
 
             aiResponseText = response != null ? response.getResponse() : "Error: No response from AI.";
         } catch (Exception e) {
@@ -102,9 +117,9 @@ public class OllamaService {
                 .collect(Collectors.joining("\n"));
     }
     
-    public List<ChatMessage> getHistory(String sessionId) {
-         return chatSessionRepository.findById(sessionId)
-                .orElseThrow(() -> new RuntimeException("Session not found"))
-                .getMessages();
+    public Flux<ChatMessage> getHistory(String sessionId) {
+        return reactiveChatSessionRepository.findById(sessionId)
+                .switchIfEmpty(Mono.error(new RuntimeException("Session not found")))
+                .flatMapIterable(ChatSession::getMessages);
     }
 }
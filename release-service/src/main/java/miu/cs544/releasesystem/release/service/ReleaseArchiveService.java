@@ -0,0 +1,258 @@
+package miu.cs544.releasesystem.release.service;
+
+import com.mongodb.ErrorCategory;
+import com.mongodb.MongoWriteException;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.ReplaceOptions;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import miu.cs544.releasesystem.release.domain.ArchivedRelease;
+import miu.cs544.releasesystem.release.domain.Release;
+import miu.cs544.releasesystem.release.domain.ReleaseStatus;
+import miu.cs544.releasesystem.release.repository.TaskViewRepository;
+import org.bson.BsonBinaryReader;
+import org.bson.Document;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.DocumentCodec;
+import org.bson.types.Binary;
+import org.bson.types.ObjectId;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Moves releases completed long ago out of the hot releases collection into release_archive, as
+ * gzip-compressed BSON, and brings them back when a hotfix is added.
+ * <p>
+ * Archiving copies first and then deletes the live document guarded on its version, so a release
+ * written meanwhile stays live (and its copy is dropped). Rehydration inserts first and only drops
+ * the copy when its own insert succeeded. Either order leaves at least one complete copy.
+ * <p>
+ * Comments stay in the comments collection, flagged archived while their release is in the archive.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ReleaseArchiveService {
+
+    private static final String RELEASES = "releases";
+    private static final String ARCHIVE = "release_archive";
+    private static final String COMMENTS = "comments";
+    private static final int DECODE_BATCH_SIZE = 100;
+
+    private final MongoTemplate mongoTemplate;
+    private final TaskViewRepository taskViewRepository;
+    private final ReleaseCache releaseCache;
+    private final MeterRegistry meterRegistry;
+
+    private Counter archivedCounter;
+    private Counter rehydratedCounter;
+
+    @PostConstruct
+    public void initMetrics() {
+        archivedCounter = meterRegistry.counter("release_archive_archived_total");
+        rehydratedCounter = meterRegistry.counter("release_archive_rehydrated_total");
+    }
+
+    /**
+     * Archives up to batchSize releases completed before the cutoff.
+     *
+     * @return the number of releases moved to the archive
+     */
+    public int archiveCompletedBefore(Instant cutoff, int batchSize) {
+        // Releases completed before Release.completedAt existed fall back to their last write
+        Query query = Query.query(Criteria.where("status").is(ReleaseStatus.COMPLETED).orOperator(
+                        Criteria.where("completedAt").lt(cutoff),
+                        Criteria.where("completedAt").exists(false).and("updatedAt").lt(cutoff)))
+                .with(Sort.by(Sort.Direction.ASC, "_id"))
+                .limit(batchSize);
+        query.fields().include("_id");
+
+        int archived = 0;
+        for (Document id : mongoTemplate.find(query, Document.class, RELEASES)) {
+            try {
+                if (archive(id.get("_id"))) archived++;
+            } catch (Exception e) {
+                log.warn("Failed to archive release {}: {}", id.get("_id"), e.getMessage());
+            }
+        }
+        return archived;
+    }
+
+    private boolean archive(Object id) {
+        var releases = mongoTemplate.getCollection(RELEASES);
+        var archive = mongoTemplate.getCollection(ARCHIVE);
+        Document release = releases.find(Filters.eq("_id", id)).first();
+        if (release == null || !ReleaseStatus.COMPLETED.name().equals(release.getString("status"))) return false;
+
+        List<Document> tasks = release.getList("tasks", Document.class, List.of());
+        byte[] raw = encode(release);
+        byte[] compressed = gzip(raw);
+        archive.replaceOne(Filters.eq("_id", id), new Document("_id", id)
+                .append("name", release.getString("name"))
+                .append("version", release.get("version"))
+                .append("createdAt", release.get("createdAt"))
+                .append("completedAt", release.get("completedAt"))
+                .append("archivedAt", new Date())
+                .append("taskCount", tasks.size())
+                .append("taskIds", tasks.stream().map(task -> task.get("_id")).toList())
+                .append("rawSize", raw.length)
+                .append("payload", new Binary(compressed))
+                .append("_class", ArchivedRelease.class.getName()), new ReplaceOptions().upsert(true));
+
+        if (releases.deleteOne(Filters.and(Filters.eq("_id", id), Filters.eq("version", release.get("version")))).getDeletedCount() == 0) {
+            // Written (or rehydrated) meanwhile: the live document is newer, the copy is obsolete.
+            // If it is gone, another node archived it and this copy is the one to keep.
+            if (releases.countDocuments(Filters.eq("_id", id)) > 0) archive.deleteOne(Filters.eq("_id", id));
+            return false;
+        }
+        String releaseId = String.valueOf(id);
+        markComments(releaseId, true);
+        taskViewRepository.deleteByReleaseId(releaseId); // change streams would do it too, polling would not
+        releaseCache.invalidate(releaseId);
+        archivedCounter.increment();
+        log.info("Archived release {} ({} bytes, {} compressed)", releaseId, raw.length, compressed.length);
+        return true;
+    }
+
+    /**
+     * Read-only view of an archived release, decompressed but left in the archive.
+     */
+    public Optional<Release> findArchived(String releaseId) {
+        Document archived = mongoTemplate.getCollection(ARCHIVE).find(Filters.eq("_id", toId(releaseId))).first();
+        if (archived == null) return Optional.empty();
+        return Optional.of(mongoTemplate.getConverter().read(Release.class, decode(archived)));
+    }
+
+    /**
+     * One page of archived releases ordered by id, without their payload. Pass the id of the last
+     * release of a page as after to get the next one.
+     */
+    public List<ArchivedRelease> listArchived(String after, int limit) {
+        Query query = new Query().with(Sort.by(Sort.Direction.ASC, "_id")).limit(limit);
+        if (after != null) query.addCriteria(Criteria.where("_id").gt(toId(after)));
+        query.fields().exclude("payload");
+        return mongoTemplate.find(query, ArchivedRelease.class);
+    }
+
+    /**
+     * Id of the archived release containing the task, if any.
+     */
+    public Optional<String> findArchivedReleaseIdByTaskId(String taskId) {
+        Document archived = mongoTemplate.getCollection(ARCHIVE)
+                .find(Filters.eq("taskIds", taskId))
+                .projection(new Document("_id", 1))
+                .first();
+        return Optional.ofNullable(archived).map(doc -> String.valueOf(doc.get("_id")));
+    }
+
+    /**
+     * Copies every archived release, decompressed, into the given (empty) collection so aggregations
+     * can read archived tasks.
+     *
+     * @return the number of releases copied
+     */
+    public int decodeInto(String collection) {
+        var target = mongoTemplate.getCollection(collection);
+        List<Document> batch = new ArrayList<>(DECODE_BATCH_SIZE);
+        int copied = 0;
+        for (Document archived : mongoTemplate.getCollection(ARCHIVE).find().batchSize(DECODE_BATCH_SIZE)) {
+            batch.add(decode(archived));
+            if (batch.size() == DECODE_BATCH_SIZE) {
+                target.insertMany(batch);
+                copied += batch.size();
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            target.insertMany(batch);
+            copied += batch.size();
+        }
+        return copied;
+    }
+
+    /**
+     * Moves an archived release back into releases so it can be written again.
+     *
+     * @return the live release, or empty if it is neither live nor archived
+     */
+    public Optional<Release> rehydrate(String releaseId) {
+        Object id = toId(releaseId);
+        Document archived = mongoTemplate.getCollection(ARCHIVE).find(Filters.eq("_id", id)).first();
+        if (archived != null) {
+            try {
+                mongoTemplate.getCollection(RELEASES).insertOne(decode(archived));
+                mongoTemplate.getCollection(ARCHIVE).deleteOne(Filters.eq("_id", id));
+                markComments(releaseId, false);
+                rehydratedCounter.increment();
+                log.info("Rehydrated archived release {}", releaseId);
+            } catch (MongoWriteException e) {
+                if (e.getError().getCategory() != ErrorCategory.DUPLICATE_KEY) throw e;
+                // Still (or again) live: that document is authoritative, the archiver drops its copy
+                log.debug("Release {} is live, not rehydrating", releaseId);
+            }
+        }
+        releaseCache.evict(releaseId);
+        return releaseCache.findById(releaseId);
+    }
+
+    private void markComments(String releaseId, boolean archived) {
+        mongoTemplate.getCollection(COMMENTS).updateMany(Filters.eq("releaseId", releaseId), archived
+                ? new Document("$set", new Document("archived", true))
+                : new Document("$unset", new Document("archived", "")));
+    }
+
+    private static Object toId(String releaseId) {
+        return ObjectId.isValid(releaseId) ? new ObjectId(releaseId) : releaseId;
+    }
+
+    private static Document decode(Document archived) {
+        byte[] raw = gunzip(archived.get("payload", Binary.class).getData());
+        return new DocumentCodec().decode(new BsonBinaryReader(ByteBuffer.wrap(raw)), DecoderContext.builder().build());
+    }
+
+    private static byte[] encode(Document release) {
+        RawBsonDocument raw = new RawBsonDocument(release, new DocumentCodec());
+        ByteBuffer buffer = raw.getByteBuffer().asNIO();
+        byte[] bytes = new byte[buffer.remaining()];
+        buffer.get(bytes);
+        return bytes;
+    }
+
+    private static byte[] gzip(byte[] raw) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(raw.length / 4);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(raw);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    private static byte[] gunzip(byte[] compressed) {
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+            return gzip.readAllBytes();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package miu.cs544.releasesystem.release.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import miu.cs544.releasesystem.release.config.KafkaTopicConfig;
+import miu.cs544.releasesystem.release.domain.Release;
+import miu.cs544.releasesystem.release.event.ReleaseInvalidatedEvent;
+import miu.cs544.releasesystem.release.repository.ReleaseRepository;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Bounded near-cache of Release documents for the read paths of ReleaseService.
+ * <p>
+ * Misses are loaded through Caffeine, so concurrent misses on one release share a single MongoDB
+ * read. Every write invalidates the entry locally and publishes a ReleaseInvalidatedEvent; the other
+ * replicas consume it in a consumer group of their own and evict their copy. The TTL bounds how long
+ * a lost invalidation can be served. Release writes stay conditional on the stored document, so a
+ * stale read costs a retry, never a wrong transition.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ReleaseCache {
+
+    private static final String TOPIC = KafkaTopicConfig.RELEASE_CACHE_EVENTS;
+
+    private final ReleaseRepository releaseRepository;
+    private final KafkaProducerService kafkaProducerService;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${release.cache.max-size:10000}")
+    private long maxSize;
+
+    @Value("${release.cache.ttl-ms:300000}")
+    private long ttlMs;
+
+    @Value("${release.cache.task-index-max-size:100000}")
+    private long taskIndexMaxSize;
+
+    @Getter
+    private final String instanceId = UUID.randomUUID().toString();
+
+    private LoadingCache<String, Release> releases;
+    // Tasks never move between releases, so this index only needs size eviction
+    private Cache<String, String> releaseIdByTaskId;
+
+    @PostConstruct
+    public void init() {
+        releases = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofMillis(ttlMs))
+                .recordStats()
+                .build(id -> releaseRepository.findById(id).orElse(null));
+        releaseIdByTaskId = Caffeine.newBuilder()
+                .maximumSize(taskIndexMaxSize)
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, releases, "release_cache");
+    }
+
+    public Optional<Release> findById(String releaseId) {
+        return Optional.ofNullable(releases.get(releaseId));
+    }
+
+    public Release findByTaskId(String taskId) {
+        String releaseId = releaseIdByTaskId.get(taskId, id -> {
+            Release release = releaseRepository.findIdByTaskId(id);
+            return release != null ? release.getId() : null;
+        });
+        if (releaseId == null) return null;
+
+        Release release = releases.get(releaseId);
+        if (release != null && release.getTasks().stream().noneMatch(t -> taskId.equals(t.getId()))) {
+            // Cached copy predates the task (its invalidation is still in flight): read through once
+            releases.invalidate(releaseId);
+            release = releases.get(releaseId);
+        }
+        if (release == null) releaseIdByTaskId.invalidate(taskId);
+        return release;
+    }
+
+    /**
+     * Drops the local copy only; used before re-reading a release whose conditional write lost a race.
+     */
+    public void evict(String releaseId) {
+        releases.invalidate(releaseId);
+    }
+
+    /**
+     * Drops the release here and on every other replica. Called after each successful write.
+     */
+    public void invalidate(String releaseId) {
+        releases.invalidate(releaseId);
+        try {
+            kafkaProducerService.sendReleaseInvalidatedEvent(releaseId, new ReleaseInvalidatedEvent(releaseId, instanceId));
+        } catch (Exception e) {
+            // The write itself succeeded; other replicas fall back to the TTL
+            log.warn("Could not broadcast invalidation of release {}: {}", releaseId, e.getMessage());
+        }
+    }
+
+    // A consumer group per instance, so every replica sees every invalidation; no replay on start
+    @KafkaListener(topics = TOPIC, groupId = "release-cache-#{__listener.instanceId}",
+            properties = "auto.offset.reset=latest")
+    public void onReleaseInvalidated(ConsumerRecord<String, String> record) {
+        try {
+            ReleaseInvalidatedEvent event = objectMapper.readValue(record.value(), ReleaseInvalidatedEvent.class);
+            if (!instanceId.equals(event.getOrigin())) releases.invalidate(event.getReleaseId());
+        } catch (Exception e) {
+            log.warn("Unreadable release invalidation, evicting by key {}: {}", record.key(), e.getMessage());
+            if (record.key() != null) releases.invalidate(record.key());
+        }
+    }
+}
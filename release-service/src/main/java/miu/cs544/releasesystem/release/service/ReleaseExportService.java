@@ -0,0 +1,141 @@
+package miu.cs544.releasesystem.release.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import miu.cs544.releasesystem.release.domain.Release;
+import miu.cs544.releasesystem.release.domain.ReleaseStatus;
+import miu.cs544.releasesystem.release.domain.Task;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Streams releases from a MongoDB cursor straight to the HTTP response, one release at a time.
+ * Only the current cursor batch is held in memory. Writes to the response block when the client reads
+ * slowly, which in turn stops the cursor from fetching the next batch (backpressure).
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ReleaseExportService {
+
+    private static final List<String> CSV_HEADER = List.of(
+            "releaseId", "releaseName", "releaseStatus", "reopened", "hotfixCount", "releaseCreatedAt", "releaseUpdatedAt",
+            "taskId", "taskTitle", "taskStatus", "assignedDeveloperId", "orderIndex",
+            "taskCreatedAt", "startedAt", "completedAt", "commentCount");
+
+    private final MongoTemplate mongoTemplate;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${release.export.batch-size:500}")
+    private int batchSize;
+
+    @Value("${release.export.flush-every:1000}")
+    private int flushEvery;
+
+    /**
+     * One JSON release document per line.
+     */
+    public void exportNdjson(Collection<ReleaseStatus> statuses, OutputStream out) throws IOException {
+        long rows = 0;
+        try (Stream<Release> releases = stream(statuses);
+             JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.setRootValueSeparator(null);
+            // Flushing is ours to control; the default flushes after every value
+            ObjectWriter writer = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+            for (Iterator<Release> it = releases.iterator(); it.hasNext(); ) {
+                writer.writeValue(generator, it.next());
+                generator.writeRaw('\n');
+                if (++rows % flushEvery == 0) generator.flush();
+            }
+        }
+        recordExport("ndjson", rows);
+    }
+
+    /**
+     * One row per task, with the release columns repeated; a release without tasks yields one row
+     * with empty task columns.
+     */
+    public void exportCsv(Collection<ReleaseStatus> statuses, OutputStream out) throws IOException {
+        long rows = 0;
+        try (Stream<Release> releases = stream(statuses);
+             Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8))) {
+            writeCsvRow(writer, CSV_HEADER);
+            for (Iterator<Release> it = releases.iterator(); it.hasNext(); ) {
+                Release release = it.next();
+                List<Task> tasks = release.getTasks() == null || release.getTasks().isEmpty()
+                        ? Collections.singletonList(null)
+                        : release.getTasks();
+                for (Task task : tasks) {
+                    writeCsvRow(writer, csvRow(release, task));
+                    if (++rows % flushEvery == 0) writer.flush();
+                }
+            }
+        }
+        recordExport("csv", rows);
+    }
+
+    private Stream<Release> stream(Collection<ReleaseStatus> statuses) {
+        Query query = new Query().with(Sort.by(Sort.Direction.ASC, "_id")).cursorBatchSize(batchSize);
+        if (statuses != null && !statuses.isEmpty()) query.addCriteria(Criteria.where("status").in(statuses));
+        return mongoTemplate.stream(query, Release.class);
+    }
+
+    private List<Object> csvRow(Release release, Task task) {
+        return Arrays.asList(
+                release.getId(), release.getName(), release.getStatus(), release.isReopened(), release.getHotfixCount(),
+                release.getCreatedAt(), release.getUpdatedAt(),
+                task == null ? null : task.getId(),
+                task == null ? null : task.getTitle(),
+                task == null ? null : task.getStatus(),
+                task == null ? null : task.getAssignedDeveloperId(),
+                task == null ? null : task.getOrderIndex(),
+                task == null ? null : task.getCreatedAt(),
+                task == null ? null : task.getStartedAt(),
+                task == null ? null : task.getCompletedAt(),
+                task == null ? null : task.getCommentCount());
+    }
+
+    private void writeCsvRow(Writer writer, List<?> values) throws IOException {
+        for (int i = 0; i < values.size(); i++) {
+            if (i > 0) writer.write(',');
+            Object value = values.get(i);
+            if (value != null) writer.write(escapeCsv(value.toString()));
+        }
+        writer.write("\r\n");
+    }
+
+    static String escapeCsv(String value) {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    private void recordExport(String format, long rows) {
+        meterRegistry.counter("release_export_rows_total", "format", format).increment(rows);
+        log.info("Exported {} {} rows", rows, format);
+    }
+}
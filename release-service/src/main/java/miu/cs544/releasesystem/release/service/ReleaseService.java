@@ -3,35 +3,70 @@ package miu.cs544.releasesystem.release.service;
 import miu.cs544.releasesystem.release.domain.*;
 import miu.cs544.releasesystem.release.exception.BusinessRuleException;
 import miu.cs544.releasesystem.release.dto.ReleaseRequest;
+import miu.cs544.releasesystem.release.dto.KeysetCursor;
+import miu.cs544.releasesystem.release.dto.ReleaseSummary;
+import miu.cs544.releasesystem.release.dto.ReleaseSummaryPage;
+import miu.cs544.releasesystem.release.dto.TaskPage;
 import miu.cs544.releasesystem.release.dto.TaskRequest;
+import miu.cs544.releasesystem.release.dto.VersionStamp;
 import miu.cs544.releasesystem.release.event.HotfixTaskAddedEvent;
 import miu.cs544.releasesystem.release.event.TaskAssignedEvent;
 import miu.cs544.releasesystem.release.event.TaskCompletedEvent;
 import miu.cs544.releasesystem.release.repository.ReleaseRepository;
+import miu.cs544.releasesystem.release.repository.ReactiveReleaseRepository;
+import miu.cs544.releasesystem.release.repository.ReactiveTaskViewRepository;
 import miu.cs544.releasesystem.release.repository.UserRepository;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 import jakarta.annotation.PostConstruct;
 import java.time.Instant;
 import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class ReleaseService {
 
+    // Conditional writes that lost a race are re-validated and retried this many times
+    private static final int MAX_WRITE_ATTEMPTS = 3;
+    private static final int MAX_BATCH_SIZE = 1000;
+    private static final Set<String> SUMMARY_SORT_FIELDS = Set.of("updatedAt", "createdAt");
+
     private final ReleaseRepository releaseRepository;
+    private final ReactiveReleaseRepository reactiveReleaseRepository;
+    private final ReactiveTaskViewRepository reactiveTaskViewRepository;
     private final UserRepository userRepository;
     private final KafkaProducerService kafkaProducerService;
     private final ActivityStreamService activityStreamService;
     private final MeterRegistry meterRegistry;
+    private final ActiveDeveloperTracker activeDeveloperTracker;
+    private final StaleTaskTracker staleTaskTracker;
+    private final DeveloperSlotService developerSlotService;
+    private final CommentService commentService;
+    private final ReleaseCache releaseCache;
+    private final ReleaseArchiveService releaseArchiveService;
+    private final AnalyticsService analyticsService;
+
+    // Writes from other replicas may commit slightly out of updatedAt order; caught-up sync tokens
+    // rewind by this much so they are not skipped (clients merge the repeated tasks by id)
+    @Value("${release.sync.overlap-ms:5000}")
+    private long syncOverlapMs;
 
     // Metrics fields
     private Counter kafkaEventsCounter;
@@ -39,8 +74,7 @@ public class ReleaseService {
 
     @PostConstruct
     public void initMetrics() {
-        // 1. Active Developers Gauge
-        meterRegistry.gauge("active_developers_count", this, ReleaseService::countActiveDevelopers);
+        // active_developers_count is maintained by ActiveDeveloperTracker
 
         // THIS IS THE LINE THAT MAKES IT APPEAR IN ACTUATOR
         this.kafkaEventsCounter = meterRegistry.counter("kafka_events_published_total");
@@ -50,21 +84,6 @@ public class ReleaseService {
                 .register(meterRegistry);
     }
 
-    public int countActiveDevelopers() {
-        List<User> allUsers = userRepository.findAll();
-        int count = 0;
-        for (User user : allUsers) {
-            if (user.getRole() == Role.DEVELOPER) {
-                List<Release> releases = releaseRepository.findAll();
-                boolean hasActive = releases.stream()
-                        .flatMap(r -> r.getTasks().stream())
-                        .anyMatch(t -> user.getId().equals(t.getAssignedDeveloperId()) && t.getStatus() == TaskStatus.IN_PROCESS);
-                if (hasActive) count++;
-            }
-        }
-        return count;
-    }
-
     public Release createRelease(ReleaseRequest request) {
         Release release = new Release();
         release.setName(request.getName());
@@ -74,114 +93,237 @@ public class ReleaseService {
         return releaseRepository.save(release);
     }
 
-    public List<Release> getAllReleases() {
-        return releaseRepository.findAll();
+    public Flux<Release> getAllReleases() {
+        return reactiveReleaseRepository.findAll();
+    }
+
+    /**
+     * Changes whenever any release does; read from an index only (GET /releases ETag).
+     */
+    public Mono<VersionStamp> getReleasesVersionStamp() {
+        return reactiveReleaseRepository.findVersionStamp();
+    }
+
+    /**
+     * One page of release summaries for the admin dashboard; the tasks themselves are not loaded.
+     */
+    public ReleaseSummaryPage getReleaseSummaries(List<ReleaseStatus> statuses, String sort, Sort.Direction direction,
+                                                  String cursor, int limit) {
+        if (!SUMMARY_SORT_FIELDS.contains(sort)) {
+            throw new RuntimeException("Unsupported sort '" + sort + "', expected one of " + SUMMARY_SORT_FIELDS);
+        }
+        List<ReleaseSummary> releases = releaseRepository.findSummaries(statuses, sort, direction, KeysetCursor.parse(cursor), limit);
+
+        String nextCursor = null;
+        if (releases.size() == limit) {
+            ReleaseSummary last = releases.get(releases.size() - 1);
+            Instant position = "createdAt".equals(sort) ? last.getCreatedAt() : last.getUpdatedAt();
+            if (position != null) nextCursor = new KeysetCursor(position, last.getId()).encode();
+        }
+        return new ReleaseSummaryPage(releases, nextCursor);
     }
 
+    /**
+     * The live release, or a read-only view of it when it has been archived.
+     */
     public Release getReleaseById(String id) {
-        return releaseRepository.findById(id)
+        return releaseCache.findById(id)
+                .or(() -> releaseArchiveService.findArchived(id))
+                .orElseThrow(() -> new RuntimeException("Release not found"));
+    }
+
+    public List<ArchivedRelease> getArchivedReleases(String after, int limit) {
+        return releaseArchiveService.listArchived(after, limit);
+    }
+
+    // Writes go to the live document: an archived release is moved back first
+    private Release getLiveReleaseById(String id) {
+        return releaseCache.findById(id)
+                .or(() -> releaseArchiveService.rehydrate(id))
                 .orElseThrow(() -> new RuntimeException("Release not found"));
     }
 
-    @Transactional
     public Release addTaskToRelease(String releaseId, TaskRequest taskRequest) {
-        Release release = getReleaseById(releaseId);
+        return appendTasks(getLiveReleaseById(releaseId), List.of(toTask(taskRequest)));
+    }
 
+    /**
+     * Bulk import. The ordering of the whole batch is validated once, the tasks are appended with a
+     * single update, developer emails are resolved in one query and the events leave as one producer batch.
+     */
+    public Release addTasksToRelease(String releaseId, List<TaskRequest> taskRequests) {
+        if (taskRequests == null || taskRequests.isEmpty()) throw new RuntimeException("No tasks to add");
+        if (taskRequests.size() > MAX_BATCH_SIZE) {
+            throw new RuntimeException("At most " + MAX_BATCH_SIZE + " tasks can be added at once");
+        }
+        Release release = getLiveReleaseById(releaseId);
+        List<Task> tasks = taskRequests.stream().map(this::toTask).toList();
+
+        Set<Integer> orderIndexes = new HashSet<>();
+        release.getTasks().forEach(t -> orderIndexes.add(t.getOrderIndex()));
+        for (Task task : tasks) {
+            if (task.getOrderIndex() == null) throw new RuntimeException("Task '" + task.getTitle() + "' has no orderIndex");
+            if (!orderIndexes.add(task.getOrderIndex())) {
+                throw new BusinessRuleException("Duplicate orderIndex " + task.getOrderIndex() + " in release.");
+            }
+        }
+        return appendTasks(release, tasks);
+    }
+
+    private Task toTask(TaskRequest taskRequest) {
         Task task = new Task();
         task.setTitle(taskRequest.getTitle());
         task.setDescription(taskRequest.getDescription());
         task.setAssignedDeveloperId(taskRequest.getAssignedDeveloperId());
         task.setOrderIndex(taskRequest.getOrderIndex());
+        return task;
+    }
 
-        release.getTasks().add(task);
+    private Release appendTasks(Release current, List<Task> tasks) {
+        Set<String> developerIds = tasks.stream()
+                .map(Task::getAssignedDeveloperId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<String, String> developerEmails = new HashMap<>();
+        for (User user : userRepository.findByUsernameIn(developerIds)) {
+            if (user.getEmail() != null) developerEmails.putIfAbsent(user.getUsername(), user.getEmail());
+        }
 
-        String developerEmail = userRepository.findFirstByUsername(task.getAssignedDeveloperId())
-                .map(User::getEmail)
-                .orElse(null);
+        // $push guarded by the release status read here, so the hotfix decision cannot race completeRelease
+        for (int attempt = 1; attempt <= MAX_WRITE_ATTEMPTS; attempt++) {
+            if (attempt > 1) {
+                releaseCache.evict(current.getId());
+                current = getLiveReleaseById(current.getId());
+            }
+            ReleaseStatus status = current.getStatus();
+            Instant now = Instant.now();
+            Release release = releaseRepository.pushTasks(current.getId(), status, tasks, now);
+            if (release == null) {
+                log.debug("Release {} changed while adding tasks, retrying ({}/{})", current.getId(), attempt, MAX_WRITE_ATTEMPTS);
+                continue;
+            }
+            releaseCache.invalidate(release.getId());
+            analyticsService.onTasksAdded(release.getId(), tasks, status == ReleaseStatus.COMPLETED, now);
 
-        if (release.getStatus() == ReleaseStatus.COMPLETED) {
-            log.info("Adding Hotfix to completed release: {}", releaseId);
-            release.setStatus(ReleaseStatus.IN_PROGRESS);
-            release.setReopened(true);
-            release.setHotfixCount(release.getHotfixCount() + 1);
-            release.setReopenedAt(Instant.now());
+            if (status == ReleaseStatus.COMPLETED) {
+                log.info("Adding Hotfix to completed release: {}", release.getId());
+                List<HotfixTaskAddedEvent> hotfixEvents = tasks.stream()
+                        .map(task -> new HotfixTaskAddedEvent(task.getId(), task.getAssignedDeveloperId(),
+                                developerEmails.get(task.getAssignedDeveloperId()), release.getId(), task.getTitle()))
+                        .toList();
 
-            HotfixTaskAddedEvent event = new HotfixTaskAddedEvent(
-                    task.getId(), task.getAssignedDeveloperId(), developerEmail, release.getId(), task.getTitle()
-            );
+                kafkaProducerService.sendHotfixTaskAddedEvents(hotfixEvents);
+                kafkaEventsCounter.increment(hotfixEvents.size()); // Kafka Metric
 
-            kafkaProducerService.sendHotfixTaskAddedEvent(event);
-            kafkaEventsCounter.increment(); // Kafka Metric
+                hotfixEvents.forEach(event ->
+                        aiRequestTimer.record(() -> activityStreamService.pushEvent("Hotfix Added", event))); // AI Metric
+            }
 
-            aiRequestTimer.record(() -> activityStreamService.pushEvent("Hotfix Added", event)); // AI Metric
+            List<TaskAssignedEvent> assignedEvents = tasks.stream()
+                    .map(task -> new TaskAssignedEvent(task.getId(), task.getAssignedDeveloperId(),
+                            developerEmails.get(task.getAssignedDeveloperId()), release.getId()))
+                    .toList();
+            kafkaProducerService.sendTaskAssignedEvents(assignedEvents);
+            kafkaEventsCounter.increment(assignedEvents.size()); // Kafka Metric
+            return release;
         }
-
-        TaskAssignedEvent event = new TaskAssignedEvent(
-                task.getId(), task.getAssignedDeveloperId(), developerEmail, release.getId()
-        );
-        kafkaProducerService.sendTaskAssignedEvent(event);
-        kafkaEventsCounter.increment(); // Kafka Metric
-
-        release.setUpdatedAt(Instant.now());
-        return releaseRepository.save(release);
+        throw new BusinessRuleException("Release was modified concurrently, please retry.");
     }
 
-    @Transactional
+    /**
+     * The release may come from the near-cache; a failed precondition is only reported once it also
+     * holds on a copy read from MongoDB, so a stale entry cannot reject a valid start.
+     */
     public void startTask(String taskId, String developerId) {
-        Release release = releaseRepository.findByTaskId(taskId);
-        if (release == null) throw new RuntimeException("Task not found in any release");
-
-        Task task = release.getTasks().stream()
-                .filter(t -> t.getId().equals(taskId))
-                .findFirst()
-                .orElseThrow(() -> new RuntimeException("Task not found"));
-
-        if (!developerId.equals(task.getAssignedDeveloperId())) {
-            throw new RuntimeException("Developer not assigned to this task");
-        }
-
-        List<Release> activeReleases = releaseRepository.findReleasesWithActiveTaskForDeveloper(developerId);
-        if (!activeReleases.isEmpty()) {
-            throw new RuntimeException("Developer already has an IN_PROCESS task.");
-        }
-
-        List<Task> sortedTasks = release.getTasks().stream()
-                .sorted(Comparator.comparingInt(Task::getOrderIndex))
-                .toList();
-
-        int taskIndex = sortedTasks.indexOf(task);
-        if (taskIndex > 0) {
-            Task previousTask = sortedTasks.get(taskIndex - 1);
-            if (previousTask.getStatus() != TaskStatus.COMPLETED) {
-                throw new BusinessRuleException("Previous task is not completed.");
+        boolean slotClaimed = false;
+        boolean reread = false;
+        try {
+            int attempt = 1;
+            while (attempt <= MAX_WRITE_ATTEMPTS) {
+                Release release = releaseCache.findByTaskId(taskId);
+                if (release == null) throw new RuntimeException("Task not found in any release");
+
+                Task task = release.getTasks().stream()
+                        .filter(t -> t.getId().equals(taskId))
+                        .findFirst()
+                        .orElseThrow(() -> new RuntimeException("Task not found"));
+
+                if (!developerId.equals(task.getAssignedDeveloperId())) {
+                    if (!reread) {
+                        releaseCache.evict(release.getId()); // re-read from MongoDB before rejecting
+                        reread = true;
+                        continue;
+                    }
+                    throw new RuntimeException("Developer not assigned to this task");
+                }
+
+                // One keyed write instead of a cross-release query; the slot is the source of truth
+                if (!slotClaimed) {
+                    if (!developerSlotService.claim(developerId, release.getId(), taskId)) {
+                        throw new RuntimeException("Developer already has an IN_PROCESS task.");
+                    }
+                    slotClaimed = true;
+                }
+
+                List<Task> sortedTasks = release.getTasks().stream()
+                        .sorted(Comparator.comparingInt(Task::getOrderIndex))
+                        .toList();
+
+                int taskIndex = sortedTasks.indexOf(task);
+                String previousTaskId = null;
+                if (taskIndex > 0) {
+                    Task previousTask = sortedTasks.get(taskIndex - 1);
+                    if (previousTask.getStatus() != TaskStatus.COMPLETED) {
+                        if (!reread) {
+                            releaseCache.evict(release.getId()); // re-read from MongoDB before rejecting
+                            reread = true;
+                            continue;
+                        }
+                        throw new BusinessRuleException("Previous task is not completed.");
+                    }
+                    previousTaskId = previousTask.getId();
+                }
+
+                // Only the task is written; the filter re-checks what was validated above
+                Instant now = Instant.now();
+                if (releaseRepository.startTask(release.getId(), taskId, developerId, task.getStatus(), previousTaskId, now) == null) {
+                    log.debug("Task {} changed while starting it, retrying ({}/{})", taskId, attempt, MAX_WRITE_ATTEMPTS);
+                    releaseCache.evict(release.getId());
+                    reread = true;
+                    attempt++;
+                    continue;
+                }
+                releaseCache.invalidate(release.getId());
+                analyticsService.onTaskStarted(release.getId(), developerId, task.getStartedAt(), now);
+                slotClaimed = false; // the slot now backs the IN_PROCESS task
+                activeDeveloperTracker.onTaskStarted(developerId);
+                staleTaskTracker.onTaskStarted(taskId, now);
+
+                aiRequestTimer.record(() -> activityStreamService.pushEvent("Task Started", "Task " + task.getTitle() + " started by " + developerId));
+                return;
             }
+            throw new BusinessRuleException("Task was modified concurrently, please retry.");
+        } finally {
+            if (slotClaimed) developerSlotService.release(developerId, taskId);
         }
-
-        task.setStatus(TaskStatus.IN_PROCESS);
-        task.setStartedAt(Instant.now());
-        releaseRepository.save(release);
-
-        aiRequestTimer.record(() -> activityStreamService.pushEvent("Task Started", "Task " + task.getTitle() + " started by " + developerId));
     }
 
-    @Transactional
     public void completeTask(String taskId, String developerId) {
-        Release release = releaseRepository.findByTaskId(taskId);
-        if (release == null) throw new RuntimeException("Release not found");
-
-        Task task = release.getTasks().stream()
-                .filter(t -> t.getId().equals(taskId))
-                .findFirst()
-                .orElseThrow(() -> new RuntimeException("Task not found"));
-
-        if (!developerId.equals(task.getAssignedDeveloperId())) {
+        Instant now = Instant.now();
+        Release release = releaseRepository.completeTask(taskId, developerId, now);
+        if (release == null) {
+            if (releaseRepository.findByTaskId(taskId) == null) throw new RuntimeException("Release not found");
             throw new RuntimeException("Developer mismatch");
         }
-
-        task.setStatus(TaskStatus.COMPLETED);
-        task.setCompletedAt(Instant.now());
-        release.setUpdatedAt(Instant.now());
-        releaseRepository.save(release);
+        releaseCache.invalidate(release.getId());
+
+        Task task = release.getTasks().get(0); // state before the update
+        analyticsService.onTaskCompleted(release.getId(), task, now);
+        if (task.getStatus() == TaskStatus.IN_PROCESS) {
+            developerSlotService.release(developerId, taskId);
+            activeDeveloperTracker.onTaskCompleted(developerId);
+            staleTaskTracker.onTaskCompleted(taskId);
+        }
 
         // Task Completion Metrics
         meterRegistry.counter("tasks_completed_total").increment();
@@ -193,97 +335,73 @@ public class ReleaseService {
         aiRequestTimer.record(() -> activityStreamService.pushEvent("Task Completed", event));
     }
 
-    @Transactional
     public void completeRelease(String releaseId) {
-        Release release = getReleaseById(releaseId);
-        boolean allCompleted = release.getTasks().stream().allMatch(t -> t.getStatus() == TaskStatus.COMPLETED);
-        if (!allCompleted) throw new BusinessRuleException("Cannot complete release. Not all tasks are COMPLETED.");
-
-        release.setStatus(ReleaseStatus.COMPLETED);
-        release.setUpdatedAt(Instant.now());
-        releaseRepository.save(release);
-    }
-
-    public List<Task> getTasksForDeveloper(String developerId) {
-        return releaseRepository.findAll().stream()
-                .flatMap(r -> r.getTasks().stream())
-                .filter(t -> developerId.equals(t.getAssignedDeveloperId()))
-                .toList();
-    }
-
-    @Transactional
-    public void addComment(String taskId, String developerId, String content) {
-        Release release = releaseRepository.findByTaskId(taskId);
-        if(release == null) throw new RuntimeException("Release not found");
-
-        Task task = release.getTasks().stream()
-                .filter(t -> t.getId().equals(taskId))
-                .findFirst()
-                .orElseThrow(() -> new RuntimeException("Task not found"));
-
-        Comment comment = new Comment();
-        comment.setAuthorId(developerId);
-        comment.setContent(content);
-        comment.setTimestamp(Instant.now());
-
-        task.getComments().add(comment);
-        releaseRepository.save(release);
-
-        aiRequestTimer.record(() -> activityStreamService.pushEvent("New Comment", "User " + developerId + " commented on " + task.getTitle()));
-    }
-
-    public List<Comment> getCommentsForTask(String taskId) {
-        Release release = releaseRepository.findByTaskId(taskId);
-        if (release == null) throw new RuntimeException("Release not found");
-
-        Task task = release.getTasks().stream()
-                .filter(t -> t.getId().equals(taskId))
-                .findFirst()
-                .orElseThrow(() -> new RuntimeException("Task not found"));
-
-        return task.getComments();
-    }
-
-    @Transactional
-    public void addReplyToComment(String commentId, String developerId, String content) {
-        Release release = findReleaseContainingComment(commentId);
-        if (release == null) throw new RuntimeException("Comment not found");
-
-        Comment parentComment = findCommentById(release, commentId);
-        if (parentComment == null) throw new RuntimeException("Comment not found");
-
-        Comment reply = new Comment();
-        reply.setAuthorId(developerId);
-        reply.setContent(content);
-        reply.setTimestamp(Instant.now());
-
-        parentComment.getReplies().add(reply);
-        releaseRepository.save(release);
-
-        aiRequestTimer.record(() -> activityStreamService.pushEvent("New Reply", "User " + developerId + " replied to a comment"));
+        Instant now = Instant.now();
+        if (releaseRepository.completeRelease(releaseId, now) == null) {
+            // Unknown (404), already completed (live or archived; idempotent), or has unfinished tasks.
+            // Decided on a copy read from MongoDB: a cached entry may predate the completion.
+            releaseCache.evict(releaseId);
+            if (getReleaseById(releaseId).getStatus() == ReleaseStatus.COMPLETED) return;
+            throw new BusinessRuleException("Cannot complete release. Not all tasks are COMPLETED.");
+        }
+        releaseCache.invalidate(releaseId);
+        analyticsService.onReleaseCompleted(releaseId, now);
     }
 
-    private Release findReleaseContainingComment(String commentId) {
-        for (Release release : releaseRepository.findAll()) {
-            if (findCommentById(release, commentId) != null) return release;
-        }
-        return null;
+    /**
+     * Changes whenever one of the developer's tasks is re-projected; read from an index only (GET /tasks/my ETag).
+     */
+    public Mono<VersionStamp> getTasksVersionStamp(String developerId) {
+        return reactiveTaskViewRepository.findVersionStamp(developerId);
     }
 
-    private Comment findCommentById(Release release, String commentId) {
-        for (Task task : release.getTasks()) {
-            Comment found = findCommentRecursive(task.getComments(), commentId);
-            if (found != null) return found;
-        }
-        return null;
+    /**
+     * Tasks of the developer created, transitioned or commented on since the given sync token (all of
+     * them without one), oldest change first. The returned token continues right after the last task
+     * while the page is full; once caught up it is "now minus the overlap window", so the next call
+     * only returns changes from that window on.
+     */
+    public Mono<TaskPage> getTaskChangesForDeveloper(String developerId, String since, int limit) {
+        KeysetCursor after = KeysetCursor.parse(since);
+        Instant queriedAt = Instant.now();
+        return reactiveReleaseRepository.findTaskChangesForDeveloper(developerId, after, limit).collectList()
+                .map(tasks -> {
+                    KeysetCursor next;
+                    if (tasks.size() == limit) {
+                        TaskView last = tasks.get(tasks.size() - 1);
+                        next = new KeysetCursor(last.getUpdatedAt(), last.getId());
+                    } else {
+                        Instant caughtUp = queriedAt.minusMillis(syncOverlapMs);
+                        // never move a token backwards past a position the client already continued from
+                        next = after != null && after.getTimestamp().isAfter(caughtUp) ? after : new KeysetCursor(caughtUp, "");
+                    }
+                    return new TaskPage(tasks, next.encode());
+                });
     }
 
-    private Comment findCommentRecursive(List<Comment> comments, String commentId) {
-        for (Comment c : comments) {
-            if (commentId.equals(c.getId())) return c;
-            Comment found = findCommentRecursive(c.getReplies(), commentId);
-            if (found != null) return found;
-        }
-        return null;
+    /**
+     * One page of the developer's tasks, read from the task_view projection without blocking.
+     * Comment trees are only loaded when includeComments is set.
+     */
+    public Mono<TaskPage> getTasksForDeveloper(String developerId, List<TaskStatus> statuses, String cursor,
+                                               int limit, boolean includeComments) {
+        KeysetCursor after = KeysetCursor.parse(cursor);
+        return reactiveTaskViewRepository.findPageForDeveloper(developerId, statuses, after, limit).collectList()
+                .flatMap(tasks -> {
+                    if (!includeComments || tasks.isEmpty()) return Mono.just(tasks);
+                    return commentService.getThreadsForTasks(tasks.stream().map(TaskView::getId).toList())
+                            .map(threads -> {
+                                tasks.forEach(v -> v.setComments(threads.getOrDefault(v.getId(), List.of())));
+                                return tasks;
+                            });
+                })
+                .map(tasks -> {
+                    String nextCursor = null;
+                    if (tasks.size() == limit) {
+                        TaskView last = tasks.get(tasks.size() - 1);
+                        nextCursor = new KeysetCursor(last.getCreatedAt(), last.getId()).encode();
+                    }
+                    return new TaskPage(tasks, nextCursor);
+                });
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,77 @@
+package miu.cs544.releasesystem.release.service;
+
+import lombok.RequiredArgsConstructor;
+import miu.cs544.releasesystem.release.domain.StaleAlert;
+import miu.cs544.releasesystem.release.domain.TaskView;
+import miu.cs544.releasesystem.release.repository.StaleAlertRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Decides when a stale task is reported again. The first report is sent when the task crosses the
+ * stale threshold, and each later one waits twice as long as the one before, up to a cap. Reports
+ * per task therefore grow with the logarithm of how long it has been stuck, not with elapsed hours.
+ */
+@Service
+@RequiredArgsConstructor
+public class StaleAlertService {
+
+    private final StaleAlertRepository staleAlertRepository;
+
+    @Value("${release.stale.renotify.initial-interval-ms:21600000}")
+    private long initialIntervalMs;
+
+    @Value("${release.stale.renotify.max-interval-ms:604800000}")
+    private long maxIntervalMs;
+
+    /**
+     * Alert state of the given tasks, keyed by task id (one query for all of them).
+     */
+    public Map<String, StaleAlert> findByTaskIds(Collection<String> taskIds) {
+        Map<String, StaleAlert> alerts = new HashMap<>();
+        staleAlertRepository.findAllById(taskIds).forEach(a -> alerts.put(a.getTaskId(), a));
+        return alerts;
+    }
+
+    /**
+     * @param previous the task's alert state, null if it was never reported
+     * @return when the task is due for its next report; now or earlier means report it now
+     */
+    public Instant dueAt(StaleAlert previous, TaskView task, Instant now) {
+        if (previous == null || !previous.isFor(task.getStartedAt()) || previous.getNextNotifyAt() == null) {
+            return now;
+        }
+        return previous.getNextNotifyAt();
+    }
+
+    /**
+     * The state after reporting the task now, fenced on the partition lease it is reported under.
+     */
+    public StaleAlert escalate(StaleAlert previous, TaskView task, LeaseService.Lease lease, Instant now) {
+        int level = previous != null && previous.isFor(task.getStartedAt()) ? previous.getLevel() + 1 : 0;
+        Instant next = now.plus(intervalAfter(level));
+        return new StaleAlert(task.getId(), task.getStartedAt(), level, now, next,
+                next.plusMillis(maxIntervalMs), lease.name(), lease.token());
+    }
+
+    /**
+     * Records the alerts in one bulk write.
+     *
+     * @return the task ids whose alert was recorded; only those may be reported
+     */
+    public Set<String> record(Collection<StaleAlert> alerts) {
+        return staleAlertRepository.saveFenced(alerts);
+    }
+
+    Duration intervalAfter(int level) {
+        long interval = initialIntervalMs << Math.min(level, 30);
+        return Duration.ofMillis(interval <= 0 || interval > maxIntervalMs ? maxIntervalMs : interval);
+    }
+}
@@ -0,0 +1,109 @@
+package miu.cs544.releasesystem.release.service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import miu.cs544.releasesystem.release.config.SchedulingConfig;
+import miu.cs544.releasesystem.release.domain.TaskView;
+import miu.cs544.releasesystem.release.repository.ReleaseRepository;
+import miu.cs544.releasesystem.release.scheduler.TimingWheel;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Holds a stale deadline (startedAt + threshold) for every IN_PROCESS task in a timing wheel, so
+ * StaleTaskScheduler only looks at tasks whose deadline has just passed. Armed on startTask, cancelled
+ * on completeTask, and rebuilt from one indexed query at startup and then periodically, which also
+ * picks up tasks started or completed on other replicas.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class StaleTaskTracker {
+
+    private final ReleaseRepository releaseRepository;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${release.stale.threshold-hours:48}")
+    private long thresholdHours;
+
+    @Value("${release.stale.tick-ms:1000}")
+    private long tickMs;
+
+    @Value("${release.stale.wheel-size:3600}")
+    private int wheelSize;
+
+    private TimingWheel<String> wheel;
+
+    @PostConstruct
+    public void init() {
+        wheel = new TimingWheel<>(Duration.ofMillis(tickMs), wheelSize, Instant.now());
+        Gauge.builder("stale_task_deadlines_armed", wheel, TimingWheel::size)
+                .description("IN_PROCESS tasks with a pending stale deadline")
+                .strongReference(true)
+                .register(meterRegistry);
+    }
+
+    public Duration getThreshold() {
+        return Duration.ofHours(thresholdHours);
+    }
+
+    public void onTaskStarted(String taskId, Instant startedAt) {
+        wheel.schedule(taskId, startedAt.plus(getThreshold()));
+    }
+
+    public void onTaskCompleted(String taskId) {
+        wheel.cancel(taskId);
+    }
+
+    /**
+     * Re-arms a stale task at its next notification, or at a later re-check.
+     */
+    public void remindAt(String taskId, Instant deadline) {
+        wheel.schedule(taskId, deadline);
+    }
+
+    /**
+     * @return the tasks whose deadline passed since the last call; they are no longer armed
+     */
+    public List<String> expire(Instant now) {
+        return wheel.advance(now);
+    }
+
+    @Scheduled(initialDelayString = "${release.stale.initial-delay-ms:5000}",
+            fixedDelayString = "${release.stale.reconcile-interval-ms:900000}", scheduler = SchedulingConfig.MAINTENANCE)
+    public void reconcile() {
+        try {
+            List<TaskView> inProcess = releaseRepository.findInProcessTasks(null, null);
+            Set<String> ids = inProcess.stream().map(TaskView::getId).collect(Collectors.toSet());
+            int armed = 0;
+            for (TaskView task : inProcess) {
+                // Existing deadlines are kept: they may be reminders scheduled after an alert
+                if (task.getStartedAt() != null && wheel.scheduleIfAbsent(task.getId(), task.getStartedAt().plus(getThreshold()))) {
+                    armed++;
+                }
+            }
+            int cancelled = 0;
+            for (String taskId : wheel.keys()) {
+                if (!ids.contains(taskId)) {
+                    wheel.cancel(taskId);
+                    cancelled++;
+                }
+            }
+            if (armed > 0 || cancelled > 0) {
+                log.info("Reconciled stale task deadlines: {} armed, {} cancelled, {} pending", armed, cancelled, wheel.size());
+            }
+        } catch (Exception e) {
+            log.warn("Stale task deadline reconciliation failed: {}", e.getMessage());
+        }
+    }
+}
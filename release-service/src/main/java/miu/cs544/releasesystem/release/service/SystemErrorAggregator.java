@@ -0,0 +1,135 @@
+package miu.cs544.releasesystem.release.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import miu.cs544.releasesystem.release.config.SchedulingConfig;
+import miu.cs544.releasesystem.release.event.SystemErrorEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * Coalesces server errors into one SystemErrorEvent per fingerprint (error code, exception type and
+ * normalized message) per window, carrying the count and first/last seen times, so an incident
+ * costs one Kafka event and one email per distinct error instead of one per failed request.
+ * <p>
+ * Each fingerprint's window is only touched inside ConcurrentHashMap.compute, which locks that
+ * one entry, and a flush removes a window before reading it: an error recorded while the window is
+ * flushed lands in a new window and is published with the next one.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class SystemErrorAggregator {
+
+    private static final int MAX_MESSAGE_LENGTH = 200;
+    private static final String OVERFLOW = "other";
+    // Ids, numbers and quoted values vary per request; the rest of the message identifies the error
+    private static final Pattern UUID = Pattern.compile("[0-9a-fA-F]{8}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{12}");
+    private static final Pattern HEX_ID = Pattern.compile("\\b[0-9a-fA-F]{24}\\b");
+    private static final Pattern NUMBER = Pattern.compile("\\d+");
+    private static final Pattern QUOTED = Pattern.compile("'[^']*'|\"[^\"]*\"");
+
+    private final KafkaProducerService kafkaProducerService;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${release.errors.max-fingerprints:1000}")
+    private int maxFingerprints;
+
+    private final Map<String, Window> windows = new ConcurrentHashMap<>();
+    private Counter coalescedCounter;
+
+    @PostConstruct
+    public void initMetrics() {
+        coalescedCounter = meterRegistry.counter("system_errors_coalesced_total");
+    }
+
+    public void record(String errorCode, Throwable error) {
+        String exceptionType = error.getClass().getName();
+        String normalized = normalize(error.getMessage());
+        String fingerprint = errorCode + "|" + exceptionType + "|" + normalized;
+        // Bounded: a message that defeats normalization must not grow the map without limit
+        if (!windows.containsKey(fingerprint) && windows.size() >= maxFingerprints) {
+            fingerprint = errorCode + "|" + OVERFLOW;
+            exceptionType = OVERFLOW;
+        }
+        String type = exceptionType;
+        long now = System.currentTimeMillis();
+        windows.compute(fingerprint, (key, window) -> {
+            if (window == null) window = new Window(errorCode, type, key, error.getMessage(), now);
+            window.record(now);
+            return window;
+        });
+    }
+
+    /**
+     * Publishes one event per fingerprint seen since the last flush.
+     */
+    @Scheduled(initialDelayString = "${release.errors.window-ms:60000}",
+            fixedDelayString = "${release.errors.window-ms:60000}", scheduler = SchedulingConfig.ERRORS)
+    public void flush() {
+        for (String fingerprint : windows.keySet()) {
+            Window window = windows.remove(fingerprint);
+            if (window == null) continue;
+            coalescedCounter.increment(window.count - 1);
+            try {
+                kafkaProducerService.sendSystemErrorEvent(new SystemErrorEvent(
+                        window.errorCode,
+                        "Server error: " + window.sampleMessage,
+                        Instant.ofEpochMilli(window.lastSeen),
+                        window.exceptionType,
+                        fingerprint,
+                        window.count,
+                        Instant.ofEpochMilli(window.firstSeen),
+                        Instant.ofEpochMilli(window.lastSeen)));
+            } catch (Exception e) {
+                log.warn("Failed to send SystemErrorEvent for {} ({} occurrences)", fingerprint, window.count, e);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    static String normalize(String message) {
+        if (message == null) return "";
+        String normalized = UUID.matcher(message).replaceAll("#");
+        normalized = HEX_ID.matcher(normalized).replaceAll("#");
+        normalized = QUOTED.matcher(normalized).replaceAll("'#'");
+        normalized = NUMBER.matcher(normalized).replaceAll("#");
+        return normalized.length() > MAX_MESSAGE_LENGTH ? normalized.substring(0, MAX_MESSAGE_LENGTH) : normalized;
+    }
+
+    // Mutated only inside windows.compute, read only after windows.remove
+    private static final class Window {
+        final String errorCode;
+        final String exceptionType;
+        final String sampleMessage;
+        final long firstSeen;
+        long lastSeen;
+        long count;
+
+        Window(String errorCode, String exceptionType, String fingerprint, String sampleMessage, long now) {
+            this.errorCode = errorCode;
+            this.exceptionType = exceptionType;
+            this.sampleMessage = sampleMessage != null ? sampleMessage : fingerprint;
+            this.firstSeen = now;
+        }
+
+        void record(long now) {
+            count++;
+            lastSeen = Math.max(lastSeen, now);
+        }
+    }
+}
@@ -0,0 +1,281 @@
+package miu.cs544.releasesystem.release.service;
+
+import com.mongodb.MongoCommandException;
+import com.mongodb.client.MongoChangeStreamCursor;
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import com.mongodb.client.model.changestream.FullDocument;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import miu.cs544.releasesystem.release.domain.ProjectionCheckpoint;
+import miu.cs544.releasesystem.release.domain.Release;
+import miu.cs544.releasesystem.release.repository.ProjectionCheckpointRepository;
+import miu.cs544.releasesystem.release.repository.TaskViewRepository;
+import org.bson.BsonDocument;
+import org.bson.BsonValue;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Keeps the task_view read model in sync with the releases collection.
+ * <p>
+ * Tails a change stream on releases (fullDocument=updateLookup) and re-projects the tasks of every
+ * changed release; the resume token is checkpointed so a restart continues where it stopped.
+ * The read model is rebuilt from scratch on first start or when the resume token is no longer in
+ * the oplog. Standalone servers have no change streams; there the projector polls releases by
+ * updatedAt instead.
+ * <p>
+ * Only the node holding the task-view-projector lease projects; the others wait to take it over.
+ * A node that loses the lease stops at its next event. Views are only replaced by a newer release
+ * version, so a release it still projects until then cannot roll back what the new leader wrote.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class TaskViewProjector implements SmartLifecycle {
+
+    private static final String PROJECTION = "task_view";
+    private static final String RELEASES = "releases";
+    private static final int CHECKPOINT_EVERY = 50;
+    // Server error codes: change streams unsupported on standalone / resume point fell off the oplog
+    private static final int CHANGE_STREAM_UNSUPPORTED = 40573;
+    private static final int CHANGE_STREAM_HISTORY_LOST = 286;
+    private static final String LEASE = "task-view-projector";
+    private static final Duration LEASE_TTL = Duration.ofSeconds(30);
+
+    private final MongoTemplate mongoTemplate;
+    private final TaskViewRepository taskViewRepository;
+    private final ProjectionCheckpointRepository checkpointRepository;
+    private final LeaseService leaseService;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${release.task-view.poll-interval-ms:1000}")
+    private long pollIntervalMs;
+
+    private volatile boolean running = false;
+    private volatile MongoChangeStreamCursor<ChangeStreamDocument<Document>> cursor;
+    private Thread worker;
+    private Counter projectedCounter;
+
+    @Override
+    public void start() {
+        projectedCounter = meterRegistry.counter("task_view_projected_releases_total");
+        running = true;
+        worker = new Thread(this::run, "task-view-projector");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        MongoChangeStreamCursor<?> current = cursor;
+        if (current != null) {
+            try {
+                current.close();
+            } catch (Exception ignored) {
+                // closing an interrupted cursor may throw; the worker is exiting anyway
+            }
+        }
+        if (worker != null) worker.interrupt();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void run() {
+        while (running) {
+            try {
+                if (!leading()) {
+                    sleep(pollIntervalMs);
+                    continue;
+                }
+                ProjectionCheckpoint checkpoint = checkpointRepository.findById(PROJECTION).orElse(null);
+                if (checkpoint == null) {
+                    checkpoint = rebuild();
+                }
+                tail(checkpoint);
+            } catch (MongoCommandException e) {
+                if (e.getErrorCode() == CHANGE_STREAM_UNSUPPORTED) {
+                    log.warn("Change streams are not supported by this MongoDB deployment; polling releases for task_view");
+                    poll();
+                } else if (e.getErrorCode() == CHANGE_STREAM_HISTORY_LOST) {
+                    log.warn("task_view resume token is no longer in the oplog; rebuilding the read model");
+                    checkpointRepository.deleteById(PROJECTION);
+                } else {
+                    backOff(e);
+                }
+            } catch (Exception e) {
+                if (running) backOff(e);
+            }
+        }
+    }
+
+    /**
+     * Projects every release again. The resume point is taken before the scan so that writes racing
+     * with the rebuild are replayed afterwards (projection is idempotent).
+     */
+    private ProjectionCheckpoint rebuild() {
+        log.info("Rebuilding task_view from releases...");
+        ProjectionCheckpoint checkpoint = new ProjectionCheckpoint(PROJECTION, null, null, null, Instant.now());
+        try (MongoChangeStreamCursor<ChangeStreamDocument<Document>> probe =
+                     mongoTemplate.getCollection(RELEASES).watch().cursor()) {
+            BsonDocument token = probe.getResumeToken();
+            if (token != null) checkpoint.setResumeToken(Document.parse(token.toJson()));
+        } catch (MongoCommandException e) {
+            if (e.getErrorCode() != CHANGE_STREAM_UNSUPPORTED) throw e;
+        }
+
+        Instant lastUpdatedAt = null;
+        long count = 0;
+        try (Stream<Release> releases = mongoTemplate.stream(new Query(), Release.class)) {
+            for (Release release : (Iterable<Release>) releases::iterator) {
+                taskViewRepository.project(release);
+                if (release.getUpdatedAt() != null && (lastUpdatedAt == null || release.getUpdatedAt().isAfter(lastUpdatedAt))) {
+                    lastUpdatedAt = release.getUpdatedAt();
+                }
+                count++;
+            }
+        }
+        checkpoint.setLastUpdatedAt(lastUpdatedAt);
+        checkpointRepository.save(checkpoint);
+        log.info("task_view rebuilt from {} releases", count);
+        return checkpoint;
+    }
+
+    private void tail(ProjectionCheckpoint checkpoint) {
+        var watch = mongoTemplate.getCollection(RELEASES).watch().fullDocument(FullDocument.UPDATE_LOOKUP);
+        if (checkpoint.getResumeToken() != null) {
+            watch = watch.resumeAfter(BsonDocument.parse(checkpoint.getResumeToken().toJson()));
+        }
+        cursor = watch.cursor();
+        log.info("task_view projector tailing the releases change stream");
+        int sinceCheckpoint = 0;
+        while (running) {
+            if (!leading()) {
+                log.info("task_view projector lost its lease, stopped tailing");
+                cursor.close();
+                return;
+            }
+            ChangeStreamDocument<Document> change = cursor.tryNext();
+            if (change != null) {
+                if (!apply(change)) {
+                    cursor.close();
+                    return; // stream invalidated: run() rebuilds
+                }
+                sinceCheckpoint++;
+            }
+            // Checkpoint on idle or every few events; the post-batch token also advances when idle
+            if ((change == null && sinceCheckpoint > 0) || sinceCheckpoint >= CHECKPOINT_EVERY) {
+                BsonDocument token = cursor.getResumeToken();
+                if (token != null) {
+                    checkpoint.setResumeToken(Document.parse(token.toJson()));
+                    checkpoint.setCheckpointedAt(Instant.now());
+                    checkpointRepository.save(checkpoint);
+                }
+                sinceCheckpoint = 0;
+            }
+        }
+    }
+
+    /**
+     * @return false when the stream was invalidated and the read model must be rebuilt
+     */
+    private boolean apply(ChangeStreamDocument<Document> change) {
+        switch (change.getOperationType()) {
+            case INSERT, UPDATE, REPLACE -> {
+                Document full = change.getFullDocument();
+                if (full != null) { // null when the release was deleted before the lookup ran
+                    taskViewRepository.project(mongoTemplate.getConverter().read(Release.class, full));
+                    projectedCounter.increment();
+                }
+            }
+            case DELETE -> {
+                BsonValue id = change.getDocumentKey().get("_id");
+                taskViewRepository.deleteByReleaseId(id.isObjectId()
+                        ? id.asObjectId().getValue().toHexString()
+                        : id.asString().getValue());
+            }
+            case DROP, RENAME, DROP_DATABASE, INVALIDATE -> {
+                checkpointRepository.deleteById(PROJECTION);
+                return false;
+            }
+            default -> { }
+        }
+        return true;
+    }
+
+    /**
+     * Fallback for standalone servers: every write path bumps Release.updatedAt, so polling on it
+     * picks up inserts and updates (deletes are only seen by the change stream). Pages are keyed on
+     * (updatedAt, _id), so any number of releases written in the same millisecond are paged through.
+     */
+    private void poll() {
+        ProjectionCheckpoint checkpoint = checkpointRepository.findById(PROJECTION)
+                .orElseGet(() -> new ProjectionCheckpoint(PROJECTION, null, null, null, Instant.now()));
+        while (running) {
+            if (!leading()) {
+                log.info("task_view projector lost its lease, stopped polling");
+                return;
+            }
+            Query query = Query.query(after(checkpoint))
+                    .with(Sort.by(Sort.Direction.ASC, "updatedAt", "_id"))
+                    .limit(CHECKPOINT_EVERY);
+            List<Release> page = mongoTemplate.find(query, Release.class);
+            for (Release release : page) {
+                taskViewRepository.project(release);
+                projectedCounter.increment();
+                checkpoint.setLastUpdatedAt(release.getUpdatedAt());
+                checkpoint.setLastId(release.getId());
+            }
+            if (!page.isEmpty()) {
+                checkpoint.setCheckpointedAt(Instant.now());
+                checkpointRepository.save(checkpoint);
+            } else {
+                sleep(pollIntervalMs);
+            }
+        }
+    }
+
+    private static Criteria after(ProjectionCheckpoint checkpoint) {
+        Instant updatedAt = checkpoint.getLastUpdatedAt();
+        if (updatedAt == null) return Criteria.where("updatedAt").ne(null);
+        if (checkpoint.getLastId() == null) return Criteria.where("updatedAt").gte(updatedAt);
+        return new Criteria().orOperator(
+                Criteria.where("updatedAt").gt(updatedAt),
+                Criteria.where("updatedAt").is(updatedAt).and("_id").gt(checkpoint.getLastId()));
+    }
+
+    // Cheap on most calls: the lease is only renewed once half of its ttl has passed
+    private boolean leading() {
+        return leaseService.isLeader(LEASE, LEASE_TTL);
+    }
+
+    private void backOff(Exception e) {
+        log.warn("task_view projector failed, retrying: {}", e.getMessage());
+        sleep(5000);
+    }
+
+    private void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package miu.cs544.releasesystem.release.controller;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import miu.cs544.releasesystem.release.config.Bulkhead;
+import miu.cs544.releasesystem.release.config.ConcurrencyConfig;
+import miu.cs544.releasesystem.release.domain.ChatSession;
+import miu.cs544.releasesystem.release.exception.GlobalExceptionHandler;
+import miu.cs544.releasesystem.release.repository.ChatSessionRepository;
+import miu.cs544.releasesystem.release.repository.ReactiveChatSessionRepository;
+import miu.cs544.releasesystem.release.service.OllamaService;
+import miu.cs544.releasesystem.release.service.SystemErrorAggregator;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class ChatControllerTest {
+
+    private final ChatSessionRepository chatSessionRepository = mock(ChatSessionRepository.class);
+    private final CountDownLatch release = new CountDownLatch(1);
+    private Bulkhead ollama;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        ollama = new Bulkhead("ollama", 1, Duration.ofMillis(50), registry);
+        Bulkhead kafka = new Bulkhead("kafka", 1, Duration.ofMillis(50), registry);
+        OllamaService ollamaService = new OllamaService(chatSessionRepository, mock(ReactiveChatSessionRepository.class),
+                WebClient.builder(), registry, new ConcurrencyConfig.Bulkheads(ollama, kafka));
+        mockMvc = MockMvcBuilders.standaloneSetup(new ChatController(ollamaService))
+                .setControllerAdvice(new GlobalExceptionHandler(mock(SystemErrorAggregator.class)))
+                .build();
+        when(chatSessionRepository.findById("s1")).thenReturn(Optional.of(new ChatSession()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+    }
+
+    @Test
+    void sendMessage_returns503AndLeavesTheSessionAlone_whenTheOllamaBulkheadIsFull() throws Exception {
+        CountDownLatch holding = new CountDownLatch(1);
+        Thread.ofVirtual().start(() -> ollama.run(() -> {
+            holding.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }));
+        holding.await(5, TimeUnit.SECONDS);
+
+        mockMvc.perform(post("/chat/s1/message")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"message\":\"hello\"}"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(jsonPath("$.exceptionType").value("BulkheadFullException"));
+
+        verify(chatSessionRepository, never()).save(any());
+    }
+}
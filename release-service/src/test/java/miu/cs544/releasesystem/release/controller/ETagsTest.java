@@ -0,0 +1,45 @@
+package miu.cs544.releasesystem.release.controller;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ETagsTest {
+
+    private static final String ETAG = "\"1a2b-3-c-18e0\"";
+
+    @Test
+    void matches_anExactTag() {
+        assertThat(ETags.matches(ETAG, ETAG)).isTrue();
+        assertThat(ETags.matches("\"other\"", ETAG)).isFalse();
+    }
+
+    @Test
+    void matches_aWeakTagWeakly() {
+        // Proxies may weaken a strong tag; If-None-Match uses the weak comparison
+        assertThat(ETags.matches("W/" + ETAG, ETAG)).isTrue();
+    }
+
+    @Test
+    void matches_anyTagOfAList() {
+        assertThat(ETags.matches("\"a\", W/" + ETAG + " ,\"b\"", ETAG)).isTrue();
+        assertThat(ETags.matches("\"a\",\"b\"", ETAG)).isFalse();
+    }
+
+    @Test
+    void matches_aWildcard() {
+        assertThat(ETags.matches("*", ETAG)).isTrue();
+    }
+
+    @Test
+    void matches_nothingWithoutAHeader() {
+        assertThat(ETags.matches(null, ETAG)).isFalse();
+        assertThat(ETags.matches("  ", ETAG)).isFalse();
+    }
+
+    @Test
+    void matches_onlyTheWholeTag() {
+        assertThat(ETags.matches(ETAG.substring(0, ETAG.length() - 1), ETAG)).isFalse();
+        assertThat(ETags.matches(ETAG.replace("\"", ""), ETAG)).isFalse();
+    }
+}
@@ -0,0 +1,45 @@
+package miu.cs544.releasesystem.release.controller;
+
+import miu.cs544.releasesystem.release.exception.GlobalExceptionHandler;
+import miu.cs544.releasesystem.release.service.ReleaseExportService;
+import miu.cs544.releasesystem.release.service.ReleaseService;
+import miu.cs544.releasesystem.release.service.SystemErrorAggregator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+class ReleaseControllerTest {
+
+    private static final Duration EXPORT_TIMEOUT = Duration.ofMinutes(30);
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        ReleaseController controller = new ReleaseController(mock(ReleaseService.class), mock(ReleaseExportService.class));
+        ReflectionTestUtils.setField(controller, "exportTimeout", EXPORT_TIMEOUT);
+        mockMvc = MockMvcBuilders.standaloneSetup(controller)
+                .setControllerAdvice(new GlobalExceptionHandler(mock(SystemErrorAggregator.class)))
+                .setAsyncRequestTimeout(30_000)
+                .build();
+    }
+
+    @Test
+    void exportReleases_appliesTheExportTimeoutInsteadOfTheGlobalOne() throws Exception {
+        MvcResult export = mockMvc.perform(get("/releases/export").param("format", "csv"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        assertThat(export.getRequest().getAsyncContext().getTimeout()).isEqualTo(EXPORT_TIMEOUT.toMillis());
+    }
+}
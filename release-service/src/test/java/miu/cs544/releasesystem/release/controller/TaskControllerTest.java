@@ -0,0 +1,102 @@
+package miu.cs544.releasesystem.release.controller;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import miu.cs544.releasesystem.release.dto.VersionStamp;
+import miu.cs544.releasesystem.release.exception.GlobalExceptionHandler;
+import miu.cs544.releasesystem.release.repository.ReactiveReleaseRepository;
+import miu.cs544.releasesystem.release.repository.ReactiveTaskViewRepository;
+import miu.cs544.releasesystem.release.repository.ReleaseRepository;
+import miu.cs544.releasesystem.release.repository.UserRepository;
+import miu.cs544.releasesystem.release.service.ActiveDeveloperTracker;
+import miu.cs544.releasesystem.release.service.ActivityStreamService;
+import miu.cs544.releasesystem.release.service.AnalyticsService;
+import miu.cs544.releasesystem.release.service.CommentService;
+import miu.cs544.releasesystem.release.service.DeveloperSlotService;
+import miu.cs544.releasesystem.release.service.KafkaProducerService;
+import miu.cs544.releasesystem.release.service.ReleaseArchiveService;
+import miu.cs544.releasesystem.release.service.ReleaseCache;
+import miu.cs544.releasesystem.release.service.ReleaseService;
+import miu.cs544.releasesystem.release.service.StaleTaskTracker;
+import miu.cs544.releasesystem.release.service.SystemErrorAggregator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class TaskControllerTest {
+
+    private final ReactiveReleaseRepository reactiveReleaseRepository = mock(ReactiveReleaseRepository.class);
+    private final ReactiveTaskViewRepository reactiveTaskViewRepository = mock(ReactiveTaskViewRepository.class);
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        ReleaseService releaseService = new ReleaseService(mock(ReleaseRepository.class), reactiveReleaseRepository,
+                reactiveTaskViewRepository, mock(UserRepository.class), mock(KafkaProducerService.class),
+                mock(ActivityStreamService.class), new SimpleMeterRegistry(), mock(ActiveDeveloperTracker.class),
+                mock(StaleTaskTracker.class), mock(DeveloperSlotService.class), mock(CommentService.class),
+                mock(ReleaseCache.class), mock(ReleaseArchiveService.class), mock(AnalyticsService.class));
+        releaseService.initMetrics();
+        mockMvc = MockMvcBuilders.standaloneSetup(new TaskController(releaseService, mock(CommentService.class)))
+                .setControllerAdvice(new GlobalExceptionHandler(mock(SystemErrorAggregator.class)))
+                .build();
+    }
+
+    @Test
+    void getMyTasks_answers304ToAMatchingTagWithoutReadingTheTasks() throws Exception {
+        VersionStamp stamp = new VersionStamp(2, 7, Instant.parse("2026-03-02T12:00:00Z"));
+        when(reactiveTaskViewRepository.findVersionStamp("dev1")).thenReturn(Mono.just(stamp));
+
+        MvcResult pending = mockMvc.perform(get("/tasks/my").param("developerId", "dev1")
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"stale\", W/" + stamp.toETag("dev1")))
+                .andReturn();
+        mockMvc.perform(asyncDispatch(pending))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, stamp.toETag("dev1")));
+
+        verify(reactiveTaskViewRepository, never()).findPageForDeveloper(any(), any(), any(), anyInt());
+    }
+
+    @Test
+    void getMyTasks_answersAStaleTagWithThePageAndTheCurrentTag() throws Exception {
+        VersionStamp stamp = new VersionStamp(2, 7, Instant.parse("2026-03-02T12:00:00Z"));
+        when(reactiveTaskViewRepository.findVersionStamp("dev1")).thenReturn(Mono.just(stamp));
+        when(reactiveTaskViewRepository.findPageForDeveloper(eq("dev1"), any(), any(), anyInt())).thenReturn(Flux.empty());
+
+        MvcResult pending = mockMvc.perform(get("/tasks/my").param("developerId", "dev1")
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"stale\""))
+                .andReturn();
+        mockMvc.perform(asyncDispatch(pending))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, stamp.toETag("dev1")))
+                .andExpect(jsonPath("$").isEmpty());
+    }
+
+    @Test
+    void getMyTaskChanges_answers400ForAMalformedSyncToken() throws Exception {
+        mockMvc.perform(get("/tasks/my/changes").param("developerId", "dev1").param("since", "not a token!"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Invalid cursor: not a token!"));
+
+        verify(reactiveReleaseRepository, never()).findTaskChangesForDeveloper(any(), any(), anyInt());
+    }
+}
@@ -0,0 +1,48 @@
+package miu.cs544.releasesystem.release.dto;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class KeysetCursorTest {
+
+    private static final Instant POSITION = Instant.parse("2026-03-02T12:00:00.123Z");
+
+    @Test
+    void encode_roundTripsThroughDecode() {
+        KeysetCursor cursor = new KeysetCursor(POSITION, "65f1c0ffee0000000000abcd");
+
+        String encoded = cursor.encode();
+
+        assertThat(encoded).doesNotContain("=", "+", "/"); // safe as a query parameter as is
+        assertThat(KeysetCursor.decode(encoded)).isEqualTo(cursor);
+    }
+
+    @Test
+    void decode_keepsSeparatorsInsideTheId() {
+        KeysetCursor cursor = new KeysetCursor(POSITION, "task:with:colons");
+
+        assertThat(KeysetCursor.decode(cursor.encode())).isEqualTo(cursor);
+    }
+
+    @Test
+    void parse_treatsAMissingCursorAsTheFirstPage() {
+        assertThat(KeysetCursor.parse(null)).isNull();
+        assertThat(KeysetCursor.parse(" ")).isNull();
+    }
+
+    @Test
+    void decode_rejectsAMalformedCursor() {
+        // IllegalArgumentException is a RuntimeException: GlobalExceptionHandler answers 400
+        assertThatThrownBy(() -> KeysetCursor.decode("not a cursor!"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Invalid cursor: not a cursor!");
+        assertThatThrownBy(() -> KeysetCursor.parse("bm8tc2VwYXJhdG9y")) // "no-separator"
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> KeysetCursor.parse("YWJjOmlk")) // "abc:id"
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,36 @@
+package miu.cs544.releasesystem.release.dto;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class VersionStampTest {
+
+    private static final Instant NOW = Instant.parse("2026-03-02T12:00:00.123Z");
+
+    @Test
+    void toETag_isAQuotedStrongTagStableForTheSameStamp() {
+        String etag = new VersionStamp(3, 12, NOW).toETag("releases");
+
+        assertThat(etag).startsWith("\"").endsWith("\"").doesNotStartWith("W/");
+        assertThat(new VersionStamp(3, 12, NOW).toETag("releases")).isEqualTo(etag);
+    }
+
+    @Test
+    void toETag_changesWithEveryComponent() {
+        String etag = new VersionStamp(3, 12, NOW).toETag("releases");
+
+        assertThat(new VersionStamp(4, 12, NOW).toETag("releases")).isNotEqualTo(etag);     // insert or delete
+        assertThat(new VersionStamp(3, 13, NOW).toETag("releases")).isNotEqualTo(etag);     // write within the same millisecond
+        assertThat(new VersionStamp(3, 12, NOW.plusMillis(1)).toETag("releases")).isNotEqualTo(etag);
+        assertThat(new VersionStamp(3, 12, NOW).toETag("dev1")).isNotEqualTo(etag);         // another scope
+    }
+
+    @Test
+    void toETag_coversAnEmptyScope() {
+        assertThat(VersionStamp.EMPTY.toETag("dev1")).isEqualTo(VersionStamp.EMPTY.toETag("dev1"));
+        assertThat(VersionStamp.EMPTY.toETag("dev1")).isNotEqualTo(new VersionStamp(1, 1, NOW).toETag("dev1"));
+    }
+}
@@ -0,0 +1,87 @@
+package miu.cs544.releasesystem.release.repository;
+
+import com.mongodb.bulk.BulkWriteError;
+import miu.cs544.releasesystem.release.domain.StaleAlert;
+import org.bson.BsonDocument;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class StaleAlertRepositoryImplTest {
+
+    private static final Instant NOW = Instant.parse("2026-03-02T12:00:00Z");
+    private static final int DUPLICATE_KEY = 11000;
+
+    private final MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+    private final BulkOperations bulk = mock(BulkOperations.class);
+    private StaleAlertRepositoryImpl repository;
+
+    @BeforeEach
+    void setUp() {
+        repository = new StaleAlertRepositoryImpl(mongoTemplate);
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, StaleAlert.class)).thenReturn(bulk);
+    }
+
+    @Test
+    void saveFenced_upsertsOnlyOverAnOtherLeaseOrAnOlderToken() {
+        repository.saveFenced(List.of(alert("t1", "stale-tasks:3", 7)));
+
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        verify(bulk).upsert(query.capture(), update.capture());
+        Document filter = query.getValue().getQueryObject();
+        assertThat(filter.get("_id")).isEqualTo("t1");
+        assertThat(filter.getList("$or", Document.class)).containsExactly(
+                new Document("lease", new Document("$ne", "stale-tasks:3")),
+                new Document("token", new Document("$lte", 7L)));
+        Document set = update.getValue().getUpdateObject().get("$set", Document.class);
+        assertThat(set.get("lease")).isEqualTo("stale-tasks:3");
+        assertThat(set.get("token")).isEqualTo(7L);
+        assertThat(set.get("level")).isEqualTo(1);
+        verify(bulk).execute();
+    }
+
+    @Test
+    void saveFenced_dropsTheAlertsWhoseUpsertCollided() {
+        BulkOperationException fencedOff = mock(BulkOperationException.class);
+        when(fencedOff.getErrors()).thenReturn(List.of(
+                new BulkWriteError(DUPLICATE_KEY, "E11000 duplicate key error", new BsonDocument(), 1)));
+        when(bulk.execute()).thenThrow(fencedOff);
+
+        var written = repository.saveFenced(List.of(
+                alert("t1", "stale-tasks:3", 7),
+                alert("t2", "stale-tasks:3", 7),
+                alert("t3", "stale-tasks:3", 7)));
+
+        assertThat(written).containsExactly("t1", "t3");
+        verify(bulk, times(3)).upsert(any(Query.class), any(Update.class));
+    }
+
+    @Test
+    void saveFenced_writesNothingForNoAlerts() {
+        assertThat(repository.saveFenced(List.of())).isEmpty();
+        verifyNoInteractions(mongoTemplate);
+    }
+
+    private static StaleAlert alert(String taskId, String lease, long token) {
+        return new StaleAlert(taskId, NOW.minusSeconds(86400), 1, NOW, NOW.plusSeconds(43200),
+                NOW.plusSeconds(648000), lease, token);
+    }
+}
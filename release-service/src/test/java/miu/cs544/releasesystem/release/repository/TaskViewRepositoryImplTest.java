@@ -0,0 +1,110 @@
+package miu.cs544.releasesystem.release.repository;
+
+import com.mongodb.bulk.BulkWriteError;
+import miu.cs544.releasesystem.release.domain.Release;
+import miu.cs544.releasesystem.release.domain.Task;
+import miu.cs544.releasesystem.release.domain.TaskStatus;
+import miu.cs544.releasesystem.release.domain.TaskView;
+import org.bson.BsonDocument;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndReplaceOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class TaskViewRepositoryImplTest {
+
+    private static final int DUPLICATE_KEY = 11000;
+
+    private final MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+    private final BulkOperations bulk = mock(BulkOperations.class);
+    private TaskViewRepositoryImpl repository;
+
+    @BeforeEach
+    void setUp() {
+        repository = new TaskViewRepositoryImpl(mongoTemplate);
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, TaskView.class)).thenReturn(bulk);
+    }
+
+    @Test
+    void project_replacesOnlyViewsOfAnOlderReleaseVersion() {
+        repository.project(release(5, "t1", "t2"));
+
+        ArgumentCaptor<Query> replaced = ArgumentCaptor.forClass(Query.class);
+        ArgumentCaptor<TaskView> views = ArgumentCaptor.forClass(TaskView.class);
+        verify(bulk, times(2)).replaceOne(replaced.capture(), views.capture(), any(FindAndReplaceOptions.class));
+        Document filter = replaced.getAllValues().get(0).getQueryObject();
+        assertThat(filter.get("_id")).isEqualTo("t1");
+        assertThat(filter.getList("$or", Document.class)).containsExactly(
+                new Document("releaseVersion", new Document("$lt", 5L)),
+                new Document("releaseVersion", new Document("$exists", false)));
+        assertThat(views.getAllValues()).extracting(TaskView::getReleaseVersion).containsOnly(5L);
+
+        ArgumentCaptor<Query> removed = ArgumentCaptor.forClass(Query.class);
+        verify(bulk).remove(removed.capture());
+        assertThat(removed.getValue().getQueryObject().getList("$or", Document.class))
+                .contains(new Document("releaseVersion", new Document("$lt", 5L)));
+        verify(bulk).execute();
+    }
+
+    @Test
+    void project_leavesTheViewsOfANewerVersionWhenAnOlderReleaseArrivesLate() {
+        repository.project(release(5, "t1", "t2"));
+        // Both views now hold version 5: the upserts of version 3 match nothing and collide on _id
+        BulkOperationException newerExists = mock(BulkOperationException.class);
+        when(newerExists.getErrors()).thenReturn(List.of(
+                new BulkWriteError(DUPLICATE_KEY, "E11000 duplicate key error", new BsonDocument(), 0),
+                new BulkWriteError(DUPLICATE_KEY, "E11000 duplicate key error", new BsonDocument(), 1)));
+        when(bulk.execute()).thenThrow(newerExists);
+
+        repository.project(release(3, "t1", "t2"));
+
+        ArgumentCaptor<Query> replaced = ArgumentCaptor.forClass(Query.class);
+        verify(bulk, times(4)).replaceOne(replaced.capture(), any(TaskView.class), any(FindAndReplaceOptions.class));
+        assertThat(replaced.getAllValues().get(2).getQueryObject().getList("$or", Document.class))
+                .contains(new Document("releaseVersion", new Document("$lt", 3L)));
+    }
+
+    @Test
+    void project_rethrowsWriteErrorsOtherThanACollision() {
+        BulkOperationException failed = mock(BulkOperationException.class);
+        when(failed.getErrors()).thenReturn(List.of(
+                new BulkWriteError(DUPLICATE_KEY, "E11000 duplicate key error", new BsonDocument(), 0),
+                new BulkWriteError(121, "Document failed validation", new BsonDocument(), 1)));
+        when(bulk.execute()).thenThrow(failed);
+
+        assertThatThrownBy(() -> repository.project(release(5, "t1", "t2"))).isSameAs(failed);
+    }
+
+    private static Release release(long version, String... taskIds) {
+        Release release = new Release();
+        release.setId("r1");
+        release.setName("Release 1");
+        release.setVersion(version);
+        List<Task> tasks = new ArrayList<>();
+        for (String taskId : taskIds) {
+            Task task = new Task();
+            task.setId(taskId);
+            task.setTitle(taskId);
+            task.setStatus(TaskStatus.TODO);
+            tasks.add(task);
+        }
+        release.setTasks(tasks);
+        return release;
+    }
+}
@@ -0,0 +1,66 @@
+package miu.cs544.releasesystem.release.scheduler;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DependencyProbeTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private final CountDownLatch unblock = new CountDownLatch(1);
+
+    @AfterEach
+    void tearDown() {
+        unblock.countDown();
+        executor.shutdownNow();
+    }
+
+    @Test
+    void probe_timesOutAndDoesNotStartABlockedCheckTwice() {
+        AtomicInteger calls = new AtomicInteger();
+        DependencyProbe probe = new DependencyProbe("kafka", () -> {
+            calls.incrementAndGet();
+            await();
+        }, Duration.ofMillis(50), executor, registry);
+
+        assertThat(probe.probe().join()).isInstanceOf(TimeoutException.class);
+        assertThat(probe.probe().join()).isInstanceOf(TimeoutException.class);
+        assertThat(calls).hasValue(1);
+        assertThat(probe.getState()).isEqualTo(DependencyProbe.CircuitState.OPEN);
+        assertThat(registry.get("health_probe_duration").tag("outcome", "timeout").timer().count()).isEqualTo(2);
+    }
+
+    @Test
+    void probe_closesTheCircuitAfterTwoSuccesses() {
+        AtomicInteger calls = new AtomicInteger();
+        DependencyProbe probe = new DependencyProbe("mongodb", () -> {
+            if (calls.incrementAndGet() == 1) throw new IllegalStateException("down");
+        }, Duration.ofSeconds(1), executor, registry);
+
+        assertThat(probe.probe().join()).hasMessage("down");
+        assertThat(probe.getState()).isEqualTo(DependencyProbe.CircuitState.OPEN);
+        assertThat(probe.probe().join()).isNull();
+        assertThat(probe.getState()).isEqualTo(DependencyProbe.CircuitState.HALF_OPEN);
+        assertThat(probe.probe().join()).isNull();
+        assertThat(probe.getState()).isEqualTo(DependencyProbe.CircuitState.CLOSED);
+        assertThat(registry.get("health_circuit_state").tag("dependency", "mongodb").gauge().value()).isZero();
+    }
+
+    private void await() {
+        try {
+            unblock.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package miu.cs544.releasesystem.release.scheduler;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TimingWheelTest {
+
+    private static final Instant START = Instant.parse("2026-01-01T00:00:00Z");
+
+    private TimingWheel<String> wheel;
+
+    @BeforeEach
+    void setUp() {
+        wheel = new TimingWheel<>(Duration.ofSeconds(1), 8, START);
+    }
+
+    @Test
+    void advance_returnsOnlyExpiredKeys() {
+        wheel.schedule("a", START.plusSeconds(2));
+        wheel.schedule("b", START.plusSeconds(5));
+
+        assertThat(wheel.advance(START.plusSeconds(1))).isEmpty();
+        assertThat(wheel.advance(START.plusSeconds(3))).containsExactly("a");
+        assertThat(wheel.advance(START.plusSeconds(5))).containsExactly("b");
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    void advance_skipsDeadlinesOfLaterRevolutions() {
+        wheel.schedule("far", START.plusSeconds(8 * 3 + 2)); // same bucket as second 2, three turns later
+
+        assertThat(wheel.advance(START.plusSeconds(2))).isEmpty();
+        assertThat(wheel.advance(START.plusSeconds(8 * 2 + 2))).isEmpty();
+        assertThat(wheel.advance(START.plusSeconds(8 * 3 + 2))).containsExactly("far");
+    }
+
+    @Test
+    void advance_afterLongPause_firesEverythingDueOnce() {
+        wheel.schedule("a", START.plusSeconds(3));
+        wheel.schedule("b", START.plusSeconds(20));
+        wheel.schedule("c", START.plusSeconds(200));
+
+        assertThat(wheel.advance(START.plusSeconds(100))).containsExactlyInAnyOrder("a", "b");
+        assertThat(wheel.keys()).containsExactly("c");
+    }
+
+    @Test
+    void schedule_replacesAndCancelRemoves() {
+        wheel.schedule("a", START.plusSeconds(2));
+        wheel.schedule("a", START.plusSeconds(6));
+        assertThat(wheel.advance(START.plusSeconds(3))).isEmpty();
+
+        wheel.cancel("a");
+        assertThat(wheel.advance(START.plusSeconds(10))).isEmpty();
+    }
+
+    @Test
+    void scheduleIfAbsent_keepsExistingDeadline_andPastDeadlinesFireOnNextAdvance() {
+        wheel.schedule("a", START.plusSeconds(6));
+        assertThat(wheel.scheduleIfAbsent("a", START.minusSeconds(60))).isFalse();
+        assertThat(wheel.scheduleIfAbsent("b", START.minusSeconds(60))).isTrue();
+
+        assertThat(wheel.advance(START.plusSeconds(1))).containsExactly("b");
+    }
+}
@@ -0,0 +1,90 @@
+package miu.cs544.releasesystem.release.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import miu.cs544.releasesystem.release.repository.TaskViewRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ActiveDeveloperTrackerTest {
+
+    private final TaskViewRepository taskViewRepository = mock(TaskViewRepository.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private ActiveDeveloperTracker tracker;
+
+    @BeforeEach
+    void setUp() {
+        tracker = new ActiveDeveloperTracker(taskViewRepository, meterRegistry);
+        tracker.registerGauge();
+    }
+
+    @Test
+    void startAndComplete_moveTheGauge() {
+        tracker.onTaskStarted("alice");
+        tracker.onTaskStarted("bob");
+        tracker.onTaskStarted("alice");
+        assertThat(gauge()).isEqualTo(2);
+
+        tracker.onTaskCompleted("alice");
+        tracker.onTaskCompleted("carol");
+        assertThat(gauge()).isEqualTo(1);
+        assertThat(tracker.getActiveDeveloperCount()).isEqualTo(1);
+    }
+
+    @Test
+    void reconcile_repairsDriftFromTheReadModel() {
+        tracker.onTaskStarted("alice");
+        tracker.onTaskStarted("bob");
+        when(taskViewRepository.findDevelopersWithActiveTask()).thenReturn(Set.of("bob", "carol"));
+
+        tracker.reconcile();
+
+        assertThat(gauge()).isEqualTo(2); // alice dropped, carol added
+        tracker.onTaskCompleted("carol");
+        assertThat(gauge()).isEqualTo(1);
+    }
+
+    @Test
+    void reconcile_keepsADeveloperWhoStartedWhileTheQueryRan() {
+        when(taskViewRepository.findDevelopersWithActiveTask()).thenAnswer(invocation -> {
+            tracker.onTaskStarted("alice"); // not projected into task_view yet
+            return Set.of();
+        });
+
+        tracker.reconcile();
+
+        assertThat(gauge()).isEqualTo(1);
+    }
+
+    @Test
+    void reconcile_doesNotRestoreADeveloperWhoCompletedWhileTheQueryRan() {
+        tracker.onTaskStarted("alice");
+        when(taskViewRepository.findDevelopersWithActiveTask()).thenAnswer(invocation -> {
+            tracker.onTaskCompleted("alice"); // the snapshot still shows the task IN_PROCESS
+            return Set.of("alice");
+        });
+
+        tracker.reconcile();
+
+        assertThat(gauge()).isZero();
+    }
+
+    @Test
+    void reconcile_keepsTheCountWhenTheReadModelFails() {
+        tracker.onTaskStarted("alice");
+        when(taskViewRepository.findDevelopersWithActiveTask()).thenThrow(new IllegalStateException("down"));
+
+        tracker.reconcile();
+
+        assertThat(gauge()).isEqualTo(1);
+    }
+
+    private double gauge() {
+        return meterRegistry.get("active_developers_count").gauge().value();
+    }
+}
@@ -0,0 +1,145 @@
+package miu.cs544.releasesystem.release.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import miu.cs544.releasesystem.release.domain.AnalyticsRollup;
+import miu.cs544.releasesystem.release.domain.Task;
+import miu.cs544.releasesystem.release.domain.TaskStatus;
+import miu.cs544.releasesystem.release.repository.AnalyticsRollupRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class AnalyticsServiceTest {
+
+    private static final Instant NOW = Instant.parse("2026-03-02T12:00:00Z");
+
+    private final AnalyticsRollupRepository analyticsRollupRepository = mock(AnalyticsRollupRepository.class);
+    private AnalyticsService analyticsService;
+
+    @BeforeEach
+    void setUp() {
+        analyticsService = new AnalyticsService(analyticsRollupRepository, mock(ReleaseArchiveService.class),
+                mock(MongoTemplate.class), new SimpleMeterRegistry());
+        analyticsService.initMetrics();
+    }
+
+    @Test
+    void onTaskCompleted_countsTheFirstCompletionEverywhere() {
+        Task before = task(TaskStatus.IN_PROCESS, NOW.minus(Duration.ofHours(2)));
+
+        analyticsService.onTaskCompleted("r1", before, NOW);
+
+        Map<String, Long> completed = Map.of("tasksCompleted", 1L,
+                "leadTimeMsSum", Duration.ofDays(1).toMillis(),
+                "completedWithStart", 1L,
+                "cycleTimeMsSum", Duration.ofHours(2).toMillis());
+        verify(analyticsRollupRepository).increment(Map.of(
+                "release:r1", completed,
+                "day:2026-03-02", completed,
+                "developer:dev1", completed), NOW);
+    }
+
+    @Test
+    void onTaskCompleted_ignoresARecompletion() {
+        analyticsService.onTaskCompleted("r1", task(TaskStatus.COMPLETED, NOW.minus(Duration.ofHours(2))), NOW);
+
+        verify(analyticsRollupRepository, never()).increment(any(), any());
+    }
+
+    @Test
+    void onTaskStarted_countsTheFirstStartEverywhere() {
+        analyticsService.onTaskStarted("r1", "dev1", null, NOW);
+
+        Map<String, Long> started = Map.of("tasksStarted", 1L);
+        verify(analyticsRollupRepository).increment(Map.of(
+                "release:r1", started,
+                "developer:dev1", started,
+                "day:2026-03-02", started), NOW);
+    }
+
+    @Test
+    void onTaskStarted_movesARestartedTaskToItsNewDay() {
+        analyticsService.onTaskStarted("r1", "dev1", NOW.minus(Duration.ofDays(3)), NOW);
+
+        // Release and developer totals already count the task
+        verify(analyticsRollupRepository).increment(Map.of(
+                "day:2026-02-27", Map.of("tasksStarted", -1L),
+                "day:2026-03-02", Map.of("tasksStarted", 1L)), NOW);
+    }
+
+    @Test
+    void onTaskStarted_ignoresARestartOnTheSameDay() {
+        analyticsService.onTaskStarted("r1", "dev1", NOW.minus(Duration.ofHours(1)), NOW);
+
+        verify(analyticsRollupRepository, never()).increment(any(), any());
+    }
+
+    @Test
+    void getTimeline_sumsDaysIntoWeeksStartingMonday() {
+        givenDays(LocalDate.parse("2026-02-01"), LocalDate.parse("2026-03-31"));
+
+        assertThat(analyticsService.getTimeline(LocalDate.parse("2026-02-01"), LocalDate.parse("2026-03-31"), "week"))
+                .extracting(AnalyticsRollup::getId, AnalyticsRollup::getKey, AnalyticsRollup::getTasksCompleted)
+                .containsExactly(
+                        tuple("week:2026-02-23", "2026-02-23", 3L),  // Friday 27th and Sunday 1st
+                        tuple("week:2026-03-02", "2026-03-02", 4L),
+                        tuple("week:2026-03-09", "2026-03-09", 8L));
+    }
+
+    @Test
+    void getTimeline_sumsDaysIntoCalendarMonths() {
+        givenDays(LocalDate.parse("2026-02-01"), LocalDate.parse("2026-03-31"));
+
+        assertThat(analyticsService.getTimeline(LocalDate.parse("2026-02-01"), LocalDate.parse("2026-03-31"), "month"))
+                .extracting(AnalyticsRollup::getKey, AnalyticsRollup::getTasksCompleted)
+                .containsExactly(tuple("2026-02-01", 1L), tuple("2026-03-01", 14L));
+    }
+
+    @Test
+    void getTimeline_rejectsAnUnknownGranularity() {
+        assertThatThrownBy(() -> analyticsService.getTimeline(LocalDate.parse("2026-02-01"), LocalDate.parse("2026-03-31"), "year"))
+                .hasMessageContaining("Unsupported granularity 'year'");
+    }
+
+    private void givenDays(LocalDate from, LocalDate to) {
+        when(analyticsRollupRepository.findByDimensionAndKeyRange(eq(AnalyticsRollup.DAY), eq(from.toString()),
+                eq(to.toString()), any(Sort.class)))
+                .thenReturn(List.of(day("2026-02-27", 1), day("2026-03-01", 2), day("2026-03-02", 4), day("2026-03-09", 8)));
+    }
+
+    private static AnalyticsRollup day(String date, long tasksCompleted) {
+        AnalyticsRollup daily = new AnalyticsRollup();
+        daily.setId(AnalyticsRollup.id(AnalyticsRollup.DAY, date));
+        daily.setDimension(AnalyticsRollup.DAY);
+        daily.setKey(date);
+        daily.setTasksCompleted(tasksCompleted);
+        return daily;
+    }
+
+    private static Task task(TaskStatus status, Instant startedAt) {
+        Task task = new Task();
+        task.setId("t1");
+        task.setStatus(status);
+        task.setAssignedDeveloperId("dev1");
+        task.setCreatedAt(NOW.minus(Duration.ofDays(1)));
+        task.setStartedAt(startedAt);
+        return task;
+    }
+}
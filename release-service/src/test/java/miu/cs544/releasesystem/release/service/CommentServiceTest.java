@@ -0,0 +1,171 @@
+package miu.cs544.releasesystem.release.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import miu.cs544.releasesystem.release.domain.Comment;
+import miu.cs544.releasesystem.release.domain.Release;
+import miu.cs544.releasesystem.release.domain.Task;
+import miu.cs544.releasesystem.release.dto.CommentPage;
+import miu.cs544.releasesystem.release.repository.CommentRepository;
+import miu.cs544.releasesystem.release.repository.ReactiveCommentRepository;
+import miu.cs544.releasesystem.release.repository.ReactiveReleaseRepository;
+import miu.cs544.releasesystem.release.repository.ReleaseRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class CommentServiceTest {
+
+    private final CommentRepository commentRepository = mock(CommentRepository.class);
+    private final ReactiveCommentRepository reactiveCommentRepository = mock(ReactiveCommentRepository.class);
+    private final ReleaseRepository releaseRepository = mock(ReleaseRepository.class);
+    private final ReactiveReleaseRepository reactiveReleaseRepository = mock(ReactiveReleaseRepository.class);
+    private final ReleaseCache releaseCache = mock(ReleaseCache.class);
+    private final ReleaseArchiveService releaseArchiveService = mock(ReleaseArchiveService.class);
+    private CommentService commentService;
+
+    @BeforeEach
+    void setUp() {
+        commentService = new CommentService(commentRepository, reactiveCommentRepository, releaseRepository,
+                reactiveReleaseRepository, mock(ActivityStreamService.class), releaseCache,
+                releaseArchiveService, new SimpleMeterRegistry());
+        commentService.initMetrics();
+    }
+
+    @Test
+    void addComment_insertsTheCommentBeforeCountingIt() {
+        when(releaseCache.findByTaskId("t1")).thenReturn(release());
+        when(releaseRepository.incrementCommentCount("t1")).thenReturn(release());
+
+        Comment comment = commentService.addComment("t1", "dev1", "looks good");
+
+        assertThat(comment.getReleaseId()).isEqualTo("r1");
+        InOrder order = inOrder(commentRepository, releaseRepository);
+        order.verify(commentRepository).insert(comment);
+        order.verify(releaseRepository).incrementCommentCount("t1");
+        verify(releaseCache).invalidate("r1");
+    }
+
+    @Test
+    void addComment_rejectsAnUnknownTaskWithoutWriting() {
+        when(releaseArchiveService.findArchivedReleaseIdByTaskId("missing")).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> commentService.addComment("missing", "dev1", "hello")).hasMessage("Task not found");
+        verify(commentRepository, never()).insert(any(Comment.class));
+        verify(releaseRepository, never()).incrementCommentCount(any());
+    }
+
+    @Test
+    void addComment_removesTheCommentWhenTheTaskVanishedBeforeCounting() {
+        when(releaseCache.findByTaskId("t1")).thenReturn(release());
+        when(releaseArchiveService.rehydrate("r1")).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> commentService.addComment("t1", "dev1", "hello")).hasMessage("Task not found");
+        ArgumentCaptor<Comment> inserted = ArgumentCaptor.forClass(Comment.class);
+        verify(commentRepository).insert(inserted.capture());
+        verify(commentRepository).deleteById(inserted.getValue().getId());
+    }
+
+    @Test
+    void addReply_insertsTheReplyBeforeCountingIt() {
+        Comment parent = comment("c1", null, 0);
+        when(commentRepository.findById("c1")).thenReturn(Optional.of(parent));
+        when(releaseRepository.incrementCommentCount("t1")).thenReturn(release());
+
+        Comment reply = commentService.addReply("c1", "dev2", "agreed");
+
+        assertThat(reply.getAncestors()).containsExactly("c1");
+        InOrder order = inOrder(commentRepository, releaseRepository);
+        order.verify(commentRepository).insert(reply);
+        order.verify(commentRepository).incrementReplyCount("c1");
+        order.verify(releaseRepository).incrementCommentCount("t1");
+    }
+
+    @Test
+    void getThreadPage_rejectsAnUnknownTask() {
+        when(reactiveCommentRepository.findChildrenPage(eq("missing"), isNull(), isNull(), anyInt())).thenReturn(Flux.empty());
+        when(reactiveReleaseRepository.existsTask("missing")).thenReturn(Mono.just(false));
+
+        assertThatThrownBy(() -> commentService.getThreadPage("missing", null, 50, 2).block())
+                .hasMessage("Task not found");
+    }
+
+    @Test
+    void getThreadPage_returnsAnEmptyPageForATaskWithoutComments() {
+        when(reactiveCommentRepository.findChildrenPage(eq("t1"), isNull(), isNull(), anyInt())).thenReturn(Flux.empty());
+        when(reactiveReleaseRepository.existsTask("t1")).thenReturn(Mono.just(true));
+
+        CommentPage page = commentService.getThreadPage("t1", null, 50, 2).block();
+
+        assertThat(page.getComments()).isEmpty();
+        assertThat(page.getNextCursor()).isNull();
+    }
+
+    @Test
+    void getThreadPage_skipsTheExistenceCheckWhenThereAreComments() {
+        when(reactiveCommentRepository.findChildrenPage(eq("t1"), isNull(), isNull(), anyInt()))
+                .thenReturn(Flux.just(comment("c1", null, 0)));
+
+        CommentPage page = commentService.getThreadPage("t1", null, 50, 0).block();
+
+        assertThat(page.getComments()).extracting(Comment::getId).containsExactly("c1");
+        verify(reactiveReleaseRepository, never()).existsTask(any());
+    }
+
+    @Test
+    void getThreadPage_expandsABoundedNumberOfReplies() {
+        Comment root = comment("c1", null, 1);
+        Comment reply = comment("c2", root, 0);
+        when(reactiveCommentRepository.findChildrenPage(eq("t1"), isNull(), isNull(), anyInt())).thenReturn(Flux.just(root));
+        when(reactiveCommentRepository.findDescendants(eq(List.of("c1")), eq(2), anyInt())).thenReturn(Flux.just(reply));
+
+        CommentPage page = commentService.getThreadPage("t1", null, 50, 2).block();
+
+        assertThat(page.getComments()).containsExactly(root);
+        assertThat(root.getReplies()).containsExactly(reply);
+        ArgumentCaptor<Integer> limit = ArgumentCaptor.forClass(Integer.class);
+        verify(reactiveCommentRepository).findDescendants(eq(List.of("c1")), eq(2), limit.capture());
+        assertThat(limit.getValue()).isPositive().isLessThan(Integer.MAX_VALUE);
+    }
+
+    private static Release release() {
+        Task task = new Task();
+        task.setId("t1");
+        task.setTitle("Task 1");
+        Release release = new Release();
+        release.setId("r1");
+        release.setTasks(new ArrayList<>(List.of(task)));
+        return release;
+    }
+
+    private static Comment comment(String id, Comment parent, int replyCount) {
+        Comment comment = new Comment();
+        comment.setId(id);
+        comment.setTaskId("t1");
+        comment.setReleaseId("r1");
+        comment.setPath(id);
+        if (parent != null) comment.replyTo(parent);
+        comment.setReplyCount(replyCount);
+        comment.setTimestamp(Instant.parse("2026-03-02T12:00:00Z"));
+        return comment;
+    }
+}
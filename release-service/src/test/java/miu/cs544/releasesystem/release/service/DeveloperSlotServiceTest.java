@@ -0,0 +1,118 @@
+package miu.cs544.releasesystem.release.service;
+
+import com.mongodb.client.result.UpdateResult;
+import miu.cs544.releasesystem.release.domain.DeveloperSlot;
+import miu.cs544.releasesystem.release.repository.ReleaseRepository;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class DeveloperSlotServiceTest {
+
+    private final MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+    private final ReleaseRepository releaseRepository = mock(ReleaseRepository.class);
+    private DeveloperSlotService developerSlotService;
+
+    @BeforeEach
+    void setUp() {
+        developerSlotService = new DeveloperSlotService(mongoTemplate, releaseRepository);
+    }
+
+    @Test
+    void claim_insertsTheSlot() {
+        assertThat(developerSlotService.claim("dev1", "r1", "t1")).isTrue();
+
+        ArgumentCaptor<DeveloperSlot> slot = ArgumentCaptor.forClass(DeveloperSlot.class);
+        verify(mongoTemplate).insert(slot.capture());
+        assertThat(slot.getValue().getDeveloperId()).isEqualTo("dev1");
+        assertThat(slot.getValue().getTaskId()).isEqualTo("t1");
+    }
+
+    @Test
+    void claim_isRefusedWhileAnotherStartIsWithinItsGracePeriod() {
+        duplicate();
+        when(mongoTemplate.findById("dev1", DeveloperSlot.class)).thenReturn(heldFor("t0", Duration.ofSeconds(5)));
+
+        assertThat(developerSlotService.claim("dev1", "r1", "t1")).isFalse();
+        verify(releaseRepository, never()).isTaskInProcess(any());
+        verify(mongoTemplate, never()).updateFirst(any(Query.class), any(Update.class), eq(DeveloperSlot.class));
+    }
+
+    @Test
+    void claim_isRefusedWhileTheHeldTaskIsStillInProcess() {
+        duplicate();
+        when(mongoTemplate.findById("dev1", DeveloperSlot.class)).thenReturn(heldFor("t0", Duration.ofMinutes(10)));
+        when(releaseRepository.isTaskInProcess("t0")).thenReturn(true);
+
+        assertThat(developerSlotService.claim("dev1", "r1", "t1")).isFalse();
+        verify(mongoTemplate, never()).updateFirst(any(Query.class), any(Update.class), eq(DeveloperSlot.class));
+    }
+
+    @Test
+    void claim_takesOverAStaleSlotAfterTheGracePeriod() {
+        duplicate();
+        DeveloperSlot stale = heldFor("t0", Duration.ofMinutes(10));
+        when(mongoTemplate.findById("dev1", DeveloperSlot.class)).thenReturn(stale);
+        when(releaseRepository.isTaskInProcess("t0")).thenReturn(false);
+        when(mongoTemplate.updateFirst(any(Query.class), any(Update.class), eq(DeveloperSlot.class)))
+                .thenReturn(UpdateResult.acknowledged(1, 1L, null));
+
+        assertThat(developerSlotService.claim("dev1", "r1", "t1")).isTrue();
+
+        // Guarded on the observed holder, so two takers cannot both win
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate).updateFirst(query.capture(), update.capture(), eq(DeveloperSlot.class));
+        Document filter = query.getValue().getQueryObject();
+        assertThat(filter.get("_id")).isEqualTo("dev1");
+        assertThat(filter.get("taskId")).isEqualTo("t0");
+        assertThat(filter.get("claimedAt")).isEqualTo(stale.getClaimedAt());
+        assertThat(update.getValue().getUpdateObject().get("$set", Document.class).get("taskId")).isEqualTo("t1");
+    }
+
+    @Test
+    void claim_losesTheTakeOverToAConcurrentTaker() {
+        duplicate();
+        when(mongoTemplate.findById("dev1", DeveloperSlot.class)).thenReturn(heldFor("t0", Duration.ofMinutes(10)));
+        when(mongoTemplate.updateFirst(any(Query.class), any(Update.class), eq(DeveloperSlot.class)))
+                .thenReturn(UpdateResult.acknowledged(0, 0L, null));
+
+        assertThat(developerSlotService.claim("dev1", "r1", "t1")).isFalse();
+    }
+
+    @Test
+    void claim_retriesTheInsertWhenTheSlotWasReleasedMeanwhile() {
+        when(mongoTemplate.insert(any(DeveloperSlot.class)))
+                .thenThrow(new DuplicateKeyException("E11000 duplicate key error"))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+        when(mongoTemplate.findById("dev1", DeveloperSlot.class)).thenReturn(null);
+
+        assertThat(developerSlotService.claim("dev1", "r1", "t1")).isTrue();
+        verify(mongoTemplate, times(2)).insert(any(DeveloperSlot.class));
+    }
+
+    private void duplicate() {
+        when(mongoTemplate.insert(any(DeveloperSlot.class))).thenThrow(new DuplicateKeyException("E11000 duplicate key error"));
+    }
+
+    private static DeveloperSlot heldFor(String taskId, Duration age) {
+        return new DeveloperSlot("dev1", "r0", taskId, Instant.now().minus(age));
+    }
+}
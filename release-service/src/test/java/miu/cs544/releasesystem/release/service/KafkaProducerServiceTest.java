@@ -0,0 +1,57 @@
+package miu.cs544.releasesystem.release.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import miu.cs544.releasesystem.release.config.Bulkhead;
+import miu.cs544.releasesystem.release.config.ConcurrencyConfig;
+import miu.cs544.releasesystem.release.event.TaskCompletedEvent;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class KafkaProducerServiceTest {
+
+    @SuppressWarnings("unchecked")
+    private final KafkaTemplate<String, Object> kafkaTemplate = mock(KafkaTemplate.class);
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final CompletableFuture<SendResult<String, Object>> ack = new CompletableFuture<>();
+    private KafkaProducerService kafkaProducerService;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        Bulkhead kafka = new Bulkhead("kafka", 1, Duration.ofMillis(20), registry);
+        Bulkhead ollama = new Bulkhead("ollama", 1, Duration.ofMillis(20), registry);
+        kafkaProducerService = new KafkaProducerService(kafkaTemplate, registry, new ConcurrencyConfig.Bulkheads(ollama, kafka));
+        when(kafkaTemplate.send(any(ProducerRecord.class))).thenReturn(ack);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void send_holdsThePermitUntilTheBrokerAcks_andDropsEventsMeanwhileWithoutThrowing() {
+        kafkaProducerService.sendTaskCompletedEvent(new TaskCompletedEvent("t1", "dev1", "r1"));
+
+        assertThatCode(() -> kafkaProducerService.sendTaskCompletedEvent(new TaskCompletedEvent("t2", "dev1", "r1")))
+                .doesNotThrowAnyException();
+        verify(kafkaTemplate, times(1)).send(any(ProducerRecord.class));
+        assertThat(registry.counter("kafka_events_dropped_total", "topic", "task-events", "type", "completed").count()).isEqualTo(1);
+
+        ack.complete(null);
+        kafkaProducerService.sendTaskCompletedEvent(new TaskCompletedEvent("t3", "dev1", "r1"));
+
+        verify(kafkaTemplate, times(2)).send(any(ProducerRecord.class));
+        assertThat(registry.counter("kafka_events_total", "topic", "task-events", "type", "completed").count()).isEqualTo(2);
+    }
+}
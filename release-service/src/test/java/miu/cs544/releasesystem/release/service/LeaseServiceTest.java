@@ -0,0 +1,149 @@
+package miu.cs544.releasesystem.release.service;
+
+import com.mongodb.client.result.UpdateResult;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import miu.cs544.releasesystem.release.domain.SchedulerLease;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class LeaseServiceTest {
+
+    private static final Duration TTL = Duration.ofSeconds(30);
+
+    private final MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+    private LeaseService leaseService;
+
+    @BeforeEach
+    void setUp() {
+        leaseService = new LeaseService(mongoTemplate, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(leaseService, "ttlMs", TTL.toMillis());
+        ReflectionTestUtils.setField(leaseService, "nodeId", "node-a");
+        ReflectionTestUtils.setField(leaseService, "liveNodes", List.of("node-a"));
+    }
+
+    @Test
+    void acquire_takesAnExpiredLeaseOverWithOneGuardedUpsert() {
+        whenTakenOver(4, TTL);
+
+        LeaseService.Lease lease = leaseService.acquire("system-health", TTL).orElseThrow();
+
+        assertThat(lease.token()).isEqualTo(4);
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        ArgumentCaptor<FindAndModifyOptions> options = ArgumentCaptor.forClass(FindAndModifyOptions.class);
+        verify(mongoTemplate).findAndModify(query.capture(), update.capture(), options.capture(), eq(SchedulerLease.class));
+        Document filter = query.getValue().getQueryObject();
+        assertThat(filter.get("_id")).isEqualTo("system-health");
+        assertThat(filter.get("expiresAt", Document.class)).containsKey("$lt");
+        Document changes = update.getValue().getUpdateObject();
+        assertThat(changes.get("$set", Document.class).get("owner")).isEqualTo("node-a");
+        assertThat(changes.get("$inc", Document.class).get("token")).isEqualTo(1);
+        assertThat(options.getValue().isUpsert()).isTrue();
+        assertThat(options.getValue().isReturnNew()).isTrue();
+    }
+
+    @Test
+    void acquire_backsOffWhileALiveNodeHoldsTheLease() {
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class), eq(SchedulerLease.class)))
+                .thenThrow(new DuplicateKeyException("E11000 duplicate key error"));
+
+        assertThat(leaseService.acquire("system-health", TTL)).isEmpty();
+        assertThat(leaseService.acquire("system-health", TTL)).isEmpty();
+
+        // the second call waits for a quarter of the ttl instead of hitting MongoDB again
+        verify(mongoTemplate, times(1)).findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class), eq(SchedulerLease.class));
+    }
+
+    @Test
+    void acquire_renewsGuardedOnOwnerAndToken() {
+        whenTakenOver(4, Duration.ofSeconds(10)); // less than half of the ttl left: renewed on the next call
+        when(mongoTemplate.updateFirst(any(Query.class), any(Update.class), eq(SchedulerLease.class)))
+                .thenReturn(UpdateResult.acknowledged(1, 1L, null));
+        LeaseService.Lease taken = leaseService.acquire("system-health", TTL).orElseThrow();
+
+        LeaseService.Lease renewed = leaseService.acquire("system-health", TTL).orElseThrow();
+
+        assertThat(renewed.token()).isEqualTo(4);
+        assertThat(renewed.expiresAt()).isAfter(taken.expiresAt());
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).updateFirst(query.capture(), any(Update.class), eq(SchedulerLease.class));
+        assertThat(query.getValue().getQueryObject())
+                .containsEntry("_id", "system-health")
+                .containsEntry("owner", "node-a")
+                .containsEntry("token", 4L);
+    }
+
+    @Test
+    void acquire_dropsALeaseWhoseRenewalFoundItTakenOver() {
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class), eq(SchedulerLease.class)))
+                .thenReturn(lease(4, Duration.ofSeconds(10)))
+                .thenThrow(new DuplicateKeyException("E11000 duplicate key error"));
+        when(mongoTemplate.updateFirst(any(Query.class), any(Update.class), eq(SchedulerLease.class)))
+                .thenReturn(UpdateResult.acknowledged(0, 0L, null));
+        leaseService.acquire("system-health", TTL).orElseThrow();
+
+        assertThat(leaseService.acquire("system-health", TTL)).isEmpty();
+        assertThat(leaseService.held("system-health")).isEmpty();
+    }
+
+    @Test
+    void acquirePartitions_handsOverThePartitionsAssignedToAJoiningNode() {
+        whenTakenOver(1, TTL);
+        assertThat(leaseService.acquirePartitions("stale-tasks", 8)).containsExactly(0, 1, 2, 3, 4, 5, 6, 7);
+
+        when(mongoTemplate.find(any(Query.class), eq(SchedulerLease.class)))
+                .thenReturn(List.of(node("node-a"), node("node-b")));
+        leaseService.heartbeat();
+        Set<Integer> kept = leaseService.acquirePartitions("stale-tasks", 8);
+
+        Set<Integer> handedOver = new HashSet<>(IntStream.range(0, 8).boxed().toList());
+        handedOver.removeAll(kept);
+        assertThat(kept).isNotEmpty();
+        assertThat(handedOver).isNotEmpty();
+        // kept leases still have more than half of their ttl: no write; handed over ones are expired at once
+        verify(mongoTemplate, times(8)).findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class), eq(SchedulerLease.class));
+        verify(mongoTemplate, times(handedOver.size())).updateFirst(any(Query.class), any(Update.class), eq(SchedulerLease.class));
+        handedOver.forEach(p -> assertThat(leaseService.held("stale-tasks:" + p)).isEmpty());
+        kept.forEach(p -> assertThat(leaseService.held("stale-tasks:" + p)).isPresent());
+
+        // the partitions stay put on the next run
+        assertThat(leaseService.acquirePartitions("stale-tasks", 8)).isEqualTo(kept);
+    }
+
+    private void whenTakenOver(long token, Duration left) {
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class), eq(SchedulerLease.class)))
+                .thenAnswer(invocation -> lease(token, left));
+    }
+
+    private static SchedulerLease lease(long token, Duration left) {
+        Instant now = Instant.now();
+        return new SchedulerLease("lease", "node-a", token, now, now.plus(left));
+    }
+
+    private static SchedulerLease node(String owner) {
+        return new SchedulerLease("node:" + owner, owner, 0, Instant.now(), Instant.now().plus(TTL));
+    }
+}
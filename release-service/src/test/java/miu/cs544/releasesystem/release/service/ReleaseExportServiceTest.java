@@ -0,0 +1,27 @@
+package miu.cs544.releasesystem.release.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReleaseExportServiceTest {
+
+    @Test
+    void escapeCsv_leavesPlainValuesAlone() {
+        assertThat(ReleaseExportService.escapeCsv("Release 1.2")).isEqualTo("Release 1.2");
+        assertThat(ReleaseExportService.escapeCsv("")).isEmpty();
+    }
+
+    @Test
+    void escapeCsv_quotesValuesContainingACommaOrLineBreak() {
+        assertThat(ReleaseExportService.escapeCsv("login, logout")).isEqualTo("\"login, logout\"");
+        assertThat(ReleaseExportService.escapeCsv("line 1\nline 2")).isEqualTo("\"line 1\nline 2\"");
+        assertThat(ReleaseExportService.escapeCsv("line 1\r\nline 2")).isEqualTo("\"line 1\r\nline 2\"");
+    }
+
+    @Test
+    void escapeCsv_doublesEmbeddedQuotes() {
+        assertThat(ReleaseExportService.escapeCsv("the \"fast\" path")).isEqualTo("\"the \"\"fast\"\" path\"");
+        assertThat(ReleaseExportService.escapeCsv("\"")).isEqualTo("\"\"\"\"");
+    }
+}
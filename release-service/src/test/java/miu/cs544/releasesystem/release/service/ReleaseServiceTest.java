@@ -0,0 +1,198 @@
+package miu.cs544.releasesystem.release.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import miu.cs544.releasesystem.release.domain.Release;
+import miu.cs544.releasesystem.release.domain.Task;
+import miu.cs544.releasesystem.release.domain.TaskStatus;
+import miu.cs544.releasesystem.release.domain.TaskView;
+import miu.cs544.releasesystem.release.dto.KeysetCursor;
+import miu.cs544.releasesystem.release.dto.TaskPage;
+import miu.cs544.releasesystem.release.exception.BusinessRuleException;
+import miu.cs544.releasesystem.release.repository.ReactiveReleaseRepository;
+import miu.cs544.releasesystem.release.repository.ReactiveTaskViewRepository;
+import miu.cs544.releasesystem.release.repository.ReleaseRepository;
+import miu.cs544.releasesystem.release.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.stubbing.OngoingStubbing;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Flux;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ReleaseServiceTest {
+
+    private static final long SYNC_OVERLAP_MS = 5000;
+
+    private final ReleaseRepository releaseRepository = mock(ReleaseRepository.class);
+    private final ReactiveReleaseRepository reactiveReleaseRepository = mock(ReactiveReleaseRepository.class);
+    private final ReleaseCache releaseCache = mock(ReleaseCache.class);
+    private final DeveloperSlotService developerSlotService = mock(DeveloperSlotService.class);
+    private final ActiveDeveloperTracker activeDeveloperTracker = mock(ActiveDeveloperTracker.class);
+    private final StaleTaskTracker staleTaskTracker = mock(StaleTaskTracker.class);
+    private final AnalyticsService analyticsService = mock(AnalyticsService.class);
+    private ReleaseService releaseService;
+
+    @BeforeEach
+    void setUp() {
+        releaseService = new ReleaseService(releaseRepository, reactiveReleaseRepository,
+                mock(ReactiveTaskViewRepository.class), mock(UserRepository.class), mock(KafkaProducerService.class),
+                mock(ActivityStreamService.class), new SimpleMeterRegistry(), activeDeveloperTracker, staleTaskTracker,
+                developerSlotService, mock(CommentService.class), releaseCache, mock(ReleaseArchiveService.class),
+                analyticsService);
+        releaseService.initMetrics();
+        ReflectionTestUtils.setField(releaseService, "syncOverlapMs", SYNC_OVERLAP_MS);
+        when(developerSlotService.claim(anyString(), anyString(), anyString())).thenReturn(true);
+    }
+
+    @Test
+    void startTask_rereadsAStaleCachedReleaseBeforeRejectingTheDeveloper() {
+        when(releaseCache.findByTaskId("t2"))
+                .thenReturn(release(task("t1", 1, TaskStatus.COMPLETED, "dev1"), task("t2", 2, TaskStatus.TODO, "dev2")))
+                .thenReturn(release(task("t1", 1, TaskStatus.COMPLETED, "dev1"), task("t2", 2, TaskStatus.TODO, "dev1")));
+        whenStarted().thenReturn(new Release());
+
+        releaseService.startTask("t2", "dev1");
+
+        verify(releaseCache).evict("r1");
+        verify(releaseRepository).startTask(eq("r1"), eq("t2"), eq("dev1"), eq(TaskStatus.TODO), eq("t1"), any(Instant.class));
+        verify(releaseCache).invalidate("r1");
+        verify(activeDeveloperTracker).onTaskStarted("dev1");
+    }
+
+    @Test
+    void startTask_rereadsAStaleCachedReleaseBeforeRejectingAnUnfinishedPreviousTask() {
+        when(releaseCache.findByTaskId("t2"))
+                .thenReturn(release(task("t1", 1, TaskStatus.IN_PROCESS, "dev2"), task("t2", 2, TaskStatus.TODO, "dev1")))
+                .thenReturn(release(task("t1", 1, TaskStatus.COMPLETED, "dev2"), task("t2", 2, TaskStatus.TODO, "dev1")));
+        whenStarted().thenReturn(new Release());
+
+        releaseService.startTask("t2", "dev1");
+
+        verify(releaseCache).evict("r1");
+        verify(releaseRepository).startTask(eq("r1"), eq("t2"), eq("dev1"), eq(TaskStatus.TODO), eq("t1"), any(Instant.class));
+    }
+
+    @Test
+    void startTask_rejectsAPreconditionThatStillFailsOnTheReread() {
+        when(releaseCache.findByTaskId("t2"))
+                .thenReturn(release(task("t1", 1, TaskStatus.TODO, "dev2"), task("t2", 2, TaskStatus.TODO, "dev1")));
+
+        assertThatThrownBy(() -> releaseService.startTask("t2", "dev1"))
+                .isInstanceOf(BusinessRuleException.class)
+                .hasMessage("Previous task is not completed.");
+        verify(releaseCache, times(1)).evict("r1");
+        verify(releaseRepository, never()).startTask(any(), any(), any(), any(), any(), any());
+        verify(developerSlotService).release("dev1", "t2"); // the claim is given back
+    }
+
+    @Test
+    void startTask_retriesAFailedConditionalWriteOnAFreshCopy() {
+        when(releaseCache.findByTaskId("t1")).thenReturn(release(task("t1", 1, TaskStatus.TODO, "dev1")));
+        whenStarted().thenReturn(null).thenReturn(new Release());
+
+        releaseService.startTask("t1", "dev1");
+
+        verify(releaseCache).evict("r1");
+        verify(releaseRepository, times(2)).startTask(eq("r1"), eq("t1"), eq("dev1"), eq(TaskStatus.TODO), isNull(), any(Instant.class));
+        verify(developerSlotService, times(1)).claim("dev1", "r1", "t1");
+        verify(developerSlotService, never()).release(any(), any());
+    }
+
+    @Test
+    void startTask_givesUpAfterMaxWriteAttempts() {
+        when(releaseCache.findByTaskId("t1")).thenReturn(release(task("t1", 1, TaskStatus.TODO, "dev1")));
+        whenStarted().thenReturn(null);
+
+        assertThatThrownBy(() -> releaseService.startTask("t1", "dev1"))
+                .isInstanceOf(BusinessRuleException.class)
+                .hasMessage("Task was modified concurrently, please retry.");
+        verify(releaseRepository, times(3)).startTask(any(), any(), any(), any(), any(), any());
+        verify(developerSlotService).release("dev1", "t1");
+        verify(activeDeveloperTracker, never()).onTaskStarted(any());
+    }
+
+    @Test
+    void getTaskChangesForDeveloper_continuesRightAfterAFullPage() {
+        Instant updatedAt = Instant.parse("2026-03-02T12:00:00Z");
+        when(reactiveReleaseRepository.findTaskChangesForDeveloper("dev1", null, 2))
+                .thenReturn(Flux.just(view("t1", updatedAt.minusSeconds(60)), view("t2", updatedAt)));
+
+        TaskPage page = releaseService.getTaskChangesForDeveloper("dev1", null, 2).block();
+
+        assertThat(page.getTasks()).extracting(TaskView::getId).containsExactly("t1", "t2");
+        assertThat(KeysetCursor.decode(page.getNextCursor())).isEqualTo(new KeysetCursor(updatedAt, "t2"));
+    }
+
+    @Test
+    void getTaskChangesForDeveloper_rewindsACaughtUpTokenByTheOverlapWindow() {
+        when(reactiveReleaseRepository.findTaskChangesForDeveloper(eq("dev1"), any(), eq(100)))
+                .thenReturn(Flux.just(view("t1", Instant.now())));
+
+        Instant before = Instant.now();
+        TaskPage page = releaseService.getTaskChangesForDeveloper("dev1", null, 100).block();
+        Instant after = Instant.now();
+
+        // A write committed out of updatedAt order within the window is returned again on the next call
+        KeysetCursor next = KeysetCursor.decode(page.getNextCursor());
+        assertThat(next.getTimestamp()).isBetween(
+                before.minusMillis(SYNC_OVERLAP_MS).truncatedTo(ChronoUnit.MILLIS),
+                after.minusMillis(SYNC_OVERLAP_MS));
+        assertThat(next.getId()).isEmpty();
+    }
+
+    @Test
+    void getTaskChangesForDeveloper_neverMovesATokenBackwards() {
+        // The client continued from a full page that ended inside the overlap window
+        KeysetCursor since = new KeysetCursor(Instant.now().minusMillis(SYNC_OVERLAP_MS / 5).truncatedTo(ChronoUnit.MILLIS), "t9");
+        when(reactiveReleaseRepository.findTaskChangesForDeveloper("dev1", since, 100)).thenReturn(Flux.empty());
+
+        TaskPage page = releaseService.getTaskChangesForDeveloper("dev1", since.encode(), 100).block();
+
+        assertThat(page.getTasks()).isEmpty();
+        assertThat(KeysetCursor.decode(page.getNextCursor())).isEqualTo(since);
+    }
+
+    private OngoingStubbing<Release> whenStarted() {
+        return when(releaseRepository.startTask(any(), any(), any(), any(), any(), any()));
+    }
+
+    private static TaskView view(String id, Instant updatedAt) {
+        TaskView view = new TaskView();
+        view.setId(id);
+        view.setUpdatedAt(updatedAt);
+        return view;
+    }
+
+    private static Release release(Task... tasks) {
+        Release release = new Release();
+        release.setId("r1");
+        release.setTasks(new ArrayList<>(List.of(tasks)));
+        return release;
+    }
+
+    private static Task task(String id, int orderIndex, TaskStatus status, String developerId) {
+        Task task = new Task();
+        task.setId(id);
+        task.setTitle(id);
+        task.setOrderIndex(orderIndex);
+        task.setStatus(status);
+        task.setAssignedDeveloperId(developerId);
+        return task;
+    }
+}
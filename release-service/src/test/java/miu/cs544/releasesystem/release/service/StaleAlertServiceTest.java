@@ -0,0 +1,103 @@
+package miu.cs544.releasesystem.release.service;
+
+import miu.cs544.releasesystem.release.domain.StaleAlert;
+import miu.cs544.releasesystem.release.domain.TaskView;
+import miu.cs544.releasesystem.release.repository.StaleAlertRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class StaleAlertServiceTest {
+
+    private static final Instant NOW = Instant.parse("2026-03-02T12:00:00Z");
+    private static final Instant STARTED = NOW.minus(Duration.ofDays(2));
+    private static final LeaseService.Lease LEASE = new LeaseService.Lease("stale-tasks:3", 7, NOW.plusSeconds(30));
+
+    private StaleAlertService staleAlertService;
+
+    @BeforeEach
+    void setUp() {
+        staleAlertService = new StaleAlertService(mock(StaleAlertRepository.class));
+        ReflectionTestUtils.setField(staleAlertService, "initialIntervalMs", Duration.ofHours(6).toMillis());
+        ReflectionTestUtils.setField(staleAlertService, "maxIntervalMs", Duration.ofDays(7).toMillis());
+    }
+
+    @Test
+    void intervalAfter_doublesPerLevelUpToTheCap() {
+        assertThat(staleAlertService.intervalAfter(0)).isEqualTo(Duration.ofHours(6));
+        assertThat(staleAlertService.intervalAfter(1)).isEqualTo(Duration.ofHours(12));
+        assertThat(staleAlertService.intervalAfter(2)).isEqualTo(Duration.ofHours(24));
+        assertThat(staleAlertService.intervalAfter(4)).isEqualTo(Duration.ofHours(96));
+        assertThat(staleAlertService.intervalAfter(5)).isEqualTo(Duration.ofDays(7));
+        // shifts that overflow a long stay at the cap
+        assertThat(staleAlertService.intervalAfter(62)).isEqualTo(Duration.ofDays(7));
+        assertThat(staleAlertService.intervalAfter(Integer.MAX_VALUE)).isEqualTo(Duration.ofDays(7));
+    }
+
+    @Test
+    void dueAt_isNow_forATaskNeverReportedOrRestartedSince() {
+        TaskView task = task(STARTED);
+        StaleAlert ofEarlierStart = alert(STARTED.minus(Duration.ofDays(1)), 4, NOW.plus(Duration.ofDays(3)));
+
+        assertThat(staleAlertService.dueAt(null, task, NOW)).isEqualTo(NOW);
+        assertThat(staleAlertService.dueAt(ofEarlierStart, task, NOW)).isEqualTo(NOW);
+    }
+
+    @Test
+    void dueAt_isTheScheduledTime_forTheSameStart() {
+        Instant next = NOW.plus(Duration.ofHours(5));
+
+        assertThat(staleAlertService.dueAt(alert(STARTED, 1, next), task(STARTED), NOW)).isEqualTo(next);
+    }
+
+    @Test
+    void escalate_startsAtLevelZeroAndFencesOnTheLease() {
+        StaleAlert alert = staleAlertService.escalate(null, task(STARTED), LEASE, NOW);
+
+        assertThat(alert.getTaskId()).isEqualTo("t1");
+        assertThat(alert.getStartedAt()).isEqualTo(STARTED);
+        assertThat(alert.getLevel()).isZero();
+        assertThat(alert.getLastNotifiedAt()).isEqualTo(NOW);
+        assertThat(alert.getNextNotifyAt()).isEqualTo(NOW.plus(Duration.ofHours(6)));
+        assertThat(alert.getExpireAt()).isEqualTo(alert.getNextNotifyAt().plus(Duration.ofDays(7)));
+        assertThat(alert.getLease()).isEqualTo("stale-tasks:3");
+        assertThat(alert.getToken()).isEqualTo(7);
+    }
+
+    @Test
+    void escalate_raisesTheLevelForTheSameStart() {
+        StaleAlert alert = staleAlertService.escalate(alert(STARTED, 2, NOW), task(STARTED), LEASE, NOW);
+
+        assertThat(alert.getLevel()).isEqualTo(3);
+        assertThat(alert.getNextNotifyAt()).isEqualTo(NOW.plus(Duration.ofHours(48)));
+    }
+
+    @Test
+    void escalate_resetsTheLevelWhenTheTaskWasRestarted() {
+        Instant restarted = NOW.minus(Duration.ofHours(30));
+
+        StaleAlert alert = staleAlertService.escalate(alert(STARTED, 4, NOW), task(restarted), LEASE, NOW);
+
+        assertThat(alert.getLevel()).isZero();
+        assertThat(alert.getStartedAt()).isEqualTo(restarted);
+        assertThat(alert.getNextNotifyAt()).isEqualTo(NOW.plus(Duration.ofHours(6)));
+    }
+
+    private static TaskView task(Instant startedAt) {
+        TaskView task = new TaskView();
+        task.setId("t1");
+        task.setStartedAt(startedAt);
+        return task;
+    }
+
+    private static StaleAlert alert(Instant startedAt, int level, Instant nextNotifyAt) {
+        return new StaleAlert("t1", startedAt, level, NOW.minus(Duration.ofHours(1)), nextNotifyAt,
+                nextNotifyAt.plus(Duration.ofDays(7)), "stale-tasks:3", 6);
+    }
+}
@@ -0,0 +1,95 @@
+package miu.cs544.releasesystem.release.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import miu.cs544.releasesystem.release.event.SystemErrorEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+
+class SystemErrorAggregatorTest {
+
+    private final KafkaProducerService kafkaProducerService = mock(KafkaProducerService.class);
+    private SystemErrorAggregator aggregator;
+
+    @BeforeEach
+    void setUp() {
+        aggregator = new SystemErrorAggregator(kafkaProducerService, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(aggregator, "maxFingerprints", 2);
+        aggregator.initMetrics();
+    }
+
+    @Test
+    void flush_publishesOneEventPerFingerprintWithItsCount() {
+        for (int i = 0; i < 100; i++) {
+            aggregator.record("HTTP_500", new IllegalStateException("Release 65f1c0ffee00000000000" + (100 + i) + " not found"));
+        }
+        aggregator.record("HTTP_500", new NullPointerException("boom"));
+
+        aggregator.flush();
+
+        ArgumentCaptor<SystemErrorEvent> events = ArgumentCaptor.forClass(SystemErrorEvent.class);
+        verify(kafkaProducerService, times(2)).sendSystemErrorEvent(events.capture());
+        assertThat(events.getAllValues())
+                .extracting(SystemErrorEvent::getExceptionType, SystemErrorEvent::getCount)
+                .containsExactlyInAnyOrder(
+                        tuple(IllegalStateException.class.getName(), 100L),
+                        tuple(NullPointerException.class.getName(), 1L));
+        assertThat(events.getAllValues()).allSatisfy(e -> assertThat(e.getFirstSeen()).isBeforeOrEqualTo(e.getLastSeen()));
+    }
+
+    @Test
+    void flush_isQuietForAnIdleWindow() {
+        aggregator.record("HTTP_500", new IllegalStateException("boom"));
+        aggregator.flush();
+        aggregator.flush();
+
+        verify(kafkaProducerService, times(1)).sendSystemErrorEvent(any());
+        verifyNoMoreInteractions(kafkaProducerService);
+    }
+
+    @Test
+    void flush_carriesAnErrorRecordedDuringTheFlushIntoTheNextWindow() {
+        aggregator.record("HTTP_500", new IllegalStateException("boom"));
+        doAnswer(invocation -> {
+            aggregator.record("HTTP_500", new IllegalStateException("boom"));
+            return null;
+        }).doNothing().when(kafkaProducerService).sendSystemErrorEvent(any());
+
+        aggregator.flush();
+        aggregator.flush();
+
+        ArgumentCaptor<SystemErrorEvent> events = ArgumentCaptor.forClass(SystemErrorEvent.class);
+        verify(kafkaProducerService, times(2)).sendSystemErrorEvent(events.capture());
+        assertThat(events.getAllValues()).extracting(SystemErrorEvent::getCount).containsExactly(1L, 1L);
+    }
+
+    @Test
+    void record_foldsFingerprintsBeyondTheLimitIntoOne() {
+        for (String message : List.of("a", "b", "c", "d")) {
+            aggregator.record("HTTP_500", new IllegalStateException(message));
+        }
+        aggregator.flush();
+
+        ArgumentCaptor<SystemErrorEvent> events = ArgumentCaptor.forClass(SystemErrorEvent.class);
+        verify(kafkaProducerService, times(3)).sendSystemErrorEvent(events.capture());
+        assertThat(events.getAllValues()).extracting(SystemErrorEvent::getCount).containsExactlyInAnyOrder(1L, 1L, 2L);
+    }
+
+    @Test
+    void normalize_replacesVaryingParts() {
+        assertThat(SystemErrorAggregator.normalize("Task 6f1e2d3c-1111-2222-3333-444455556666 of 'v1.2' failed after 30 ms"))
+                .isEqualTo("Task # of '#' failed after # ms");
+    }
+}